@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An acceptor on which the server listens for connections.
+ *
+ * @param name      The acceptor name
+ * @param address   The address to which the acceptor is bound
+ * @param port      The port to which the acceptor is bound
+ * @param protocols The protocols permitted on the acceptor (all protocols if
+ *                  empty)
+ * @param transport The transport tuning parameters
+ */
+
+public record ChAcceptor(
+  String name,
+  String address,
+  int port,
+  Set<ChAcceptorProtocol> protocols,
+  ChAcceptorTransport transport)
+{
+  /**
+   * An acceptor on which the server listens for connections.
+   *
+   * @param name      The acceptor name
+   * @param address   The address to which the acceptor is bound
+   * @param port      The port to which the acceptor is bound
+   * @param protocols The protocols permitted on the acceptor (all protocols if
+   *                  empty)
+   * @param transport The transport tuning parameters
+   */
+
+  public ChAcceptor
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(address, "address");
+    Objects.requireNonNull(protocols, "protocols");
+    Objects.requireNonNull(transport, "transport");
+  }
+}
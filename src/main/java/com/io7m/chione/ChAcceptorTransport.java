@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Transport tuning parameters for an acceptor. Parameters that are not
+ * present take the Artemis defaults.
+ *
+ * @param tcpSendBufferSize    The TCP send buffer size in bytes
+ * @param tcpReceiveBufferSize The TCP receive buffer size in bytes
+ * @param tcpNoDelay           Whether TCP_NODELAY is enabled
+ * @param batchDelay           The write batching delay in milliseconds
+ * @param directDeliver        Whether messages are delivered on the thread
+ *                             that received them
+ * @param remotingThreads      The number of remoting threads
+ * @param useEpoll             Whether native epoll is used when available
+ */
+
+public record ChAcceptorTransport(
+  OptionalInt tcpSendBufferSize,
+  OptionalInt tcpReceiveBufferSize,
+  Optional<Boolean> tcpNoDelay,
+  OptionalLong batchDelay,
+  Optional<Boolean> directDeliver,
+  OptionalInt remotingThreads,
+  Optional<Boolean> useEpoll)
+{
+  /**
+   * Transport tuning parameters for an acceptor. Parameters that are not
+   * present take the Artemis defaults.
+   *
+   * @param tcpSendBufferSize    The TCP send buffer size in bytes
+   * @param tcpReceiveBufferSize The TCP receive buffer size in bytes
+   * @param tcpNoDelay           Whether TCP_NODELAY is enabled
+   * @param batchDelay           The write batching delay in milliseconds
+   * @param directDeliver        Whether messages are delivered on the thread
+   *                             that received them
+   * @param remotingThreads      The number of remoting threads
+   * @param useEpoll             Whether native epoll is used when available
+   */
+
+  public ChAcceptorTransport
+  {
+    Objects.requireNonNull(tcpSendBufferSize, "tcpSendBufferSize");
+    Objects.requireNonNull(tcpReceiveBufferSize, "tcpReceiveBufferSize");
+    Objects.requireNonNull(tcpNoDelay, "tcpNoDelay");
+    Objects.requireNonNull(batchDelay, "batchDelay");
+    Objects.requireNonNull(directDeliver, "directDeliver");
+    Objects.requireNonNull(remotingThreads, "remotingThreads");
+    Objects.requireNonNull(useEpoll, "useEpoll");
+  }
+
+  /**
+   * @return A set of transport parameters that are all Artemis defaults
+   */
+
+  public static ChAcceptorTransport defaults()
+  {
+    return new ChAcceptorTransport(
+      OptionalInt.empty(),
+      OptionalInt.empty(),
+      Optional.empty(),
+      OptionalLong.empty(),
+      Optional.empty(),
+      OptionalInt.empty(),
+      Optional.empty()
+    );
+  }
+}
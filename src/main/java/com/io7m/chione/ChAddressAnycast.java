@@ -17,30 +17,84 @@
 
 package com.io7m.chione;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 /**
- * An anycast address.
+ * An anycast address. An address with more than one partition is backed by
+ * one queue per partition, and each message is routed to exactly one of the
+ * partitions.
  *
- * @param name      The name
- * @param queueName The underlying queue name
+ * @param name         The name
+ * @param queueName    The underlying queue name
+ * @param partitions   The number of partitions
+ * @param partitionKey The message property used to select a partition; if
+ *                     absent, or if a message lacks the property, the
+ *                     partition is selected by the message group ID, or in
+ *                     round-robin order for messages without a group
+ * @param queueOptions The options applied to each queue
  */
 
 public record ChAddressAnycast(
   String name,
-  String queueName)
+  String queueName,
+  int partitions,
+  Optional<String> partitionKey,
+  ChQueueOptions queueOptions)
   implements ChAddressType
 {
   /**
-   * An anycast address.
+   * An anycast address. An address with more than one partition is backed by
+   * one queue per partition, and each message is routed to exactly one of
+   * the partitions.
    *
-   * @param name      The name
-   * @param queueName The underlying queue name
+   * @param name         The name
+   * @param queueName    The underlying queue name
+   * @param partitions   The number of partitions
+   * @param partitionKey The message property used to select a partition; if
+   *                     absent, or if a message lacks the property, the
+   *                     partition is selected by the message group ID, or
+   *                     in round-robin order for messages without a group
+   * @param queueOptions The options applied to each queue
    */
 
   public ChAddressAnycast
   {
     Objects.requireNonNull(name, "name");
     Objects.requireNonNull(queueName, "queueName");
+    Objects.requireNonNull(partitionKey, "partitionKey");
+    Objects.requireNonNull(queueOptions, "queueOptions");
+
+    if (partitions < 1) {
+      throw new IllegalArgumentException(
+        "Partition count must be positive."
+      );
+    }
+  }
+
+  /**
+   * @return {@code true} if the address has more than one partition
+   */
+
+  public boolean isPartitioned()
+  {
+    return this.partitions > 1;
+  }
+
+  /**
+   * @return The names of the queues that back the address, in partition order
+   */
+
+  public List<String> queueNames()
+  {
+    if (!this.isPartitioned()) {
+      return List.of(this.queueName);
+    }
+
+    return IntStream.range(0, this.partitions)
+      .mapToObj(i -> "%s.%d".formatted(this.queueName, Integer.valueOf(i)))
+      .toList();
   }
 }
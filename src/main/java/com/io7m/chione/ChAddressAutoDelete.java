@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Auto-deletion parameters for a set of addresses. The parameters apply to
+ * addresses and queues that the broker created automatically. Parameters
+ * that are not present are inherited from less specific address settings.
+ *
+ * @param queues            {@code true} if idle auto-created queues are
+ *                          deleted
+ * @param queueDelay        The time in milliseconds that a queue must be
+ *                          idle before it is deleted
+ * @param queueMessageCount The maximum number of messages a queue may hold
+ *                          and still be deleted; -1 means any number
+ * @param addresses         {@code true} if auto-created addresses without
+ *                          queues are deleted
+ * @param addressDelay      The time in milliseconds that an address must be
+ *                          without queues before it is deleted
+ */
+
+public record ChAddressAutoDelete(
+  Optional<Boolean> queues,
+  OptionalLong queueDelay,
+  OptionalLong queueMessageCount,
+  Optional<Boolean> addresses,
+  OptionalLong addressDelay)
+{
+  /**
+   * Auto-deletion parameters for a set of addresses. The parameters apply to
+   * addresses and queues that the broker created automatically. Parameters
+   * that are not present are inherited from less specific address settings.
+   *
+   * @param queues            {@code true} if idle auto-created queues are
+   *                          deleted
+   * @param queueDelay        The time in milliseconds that a queue must be
+   *                          idle before it is deleted
+   * @param queueMessageCount The maximum number of messages a queue may hold
+   *                          and still be deleted; -1 means any number
+   * @param addresses         {@code true} if auto-created addresses without
+   *                          queues are deleted
+   * @param addressDelay      The time in milliseconds that an address must
+   *                          be without queues before it is deleted
+   */
+
+  public ChAddressAutoDelete
+  {
+    Objects.requireNonNull(queues, "queues");
+    Objects.requireNonNull(queueDelay, "queueDelay");
+    Objects.requireNonNull(queueMessageCount, "queueMessageCount");
+    Objects.requireNonNull(addresses, "addresses");
+    Objects.requireNonNull(addressDelay, "addressDelay");
+  }
+
+  /**
+   * @return A set of auto-deletion parameters that are all inherited
+   */
+
+  public static ChAddressAutoDelete defaults()
+  {
+    return new ChAddressAutoDelete(
+      Optional.empty(),
+      OptionalLong.empty(),
+      OptionalLong.empty(),
+      Optional.empty(),
+      OptionalLong.empty()
+    );
+  }
+}
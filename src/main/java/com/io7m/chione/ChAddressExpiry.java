@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Message expiry parameters for a set of addresses. Parameters that are not
+ * present are inherited from less specific address settings.
+ *
+ * @param delay    The expiry delay in milliseconds applied to messages that
+ *                 have no expiration time
+ * @param minDelay The minimum expiry delay in milliseconds; messages that
+ *                 would expire sooner have their expiration time extended
+ * @param maxDelay The maximum expiry delay in milliseconds; messages that
+ *                 would expire later, or never, have their expiration time
+ *                 reduced
+ */
+
+public record ChAddressExpiry(
+  OptionalLong delay,
+  OptionalLong minDelay,
+  OptionalLong maxDelay)
+{
+  /**
+   * Message expiry parameters for a set of addresses. Parameters that are
+   * not present are inherited from less specific address settings.
+   *
+   * @param delay    The expiry delay in milliseconds applied to messages that
+   *                 have no expiration time
+   * @param minDelay The minimum expiry delay in milliseconds; messages that
+   *                 would expire sooner have their expiration time extended
+   * @param maxDelay The maximum expiry delay in milliseconds; messages that
+   *                 would expire later, or never, have their expiration time
+   *                 reduced
+   */
+
+  public ChAddressExpiry
+  {
+    Objects.requireNonNull(delay, "delay");
+    Objects.requireNonNull(minDelay, "minDelay");
+    Objects.requireNonNull(maxDelay, "maxDelay");
+  }
+
+  /**
+   * @return A set of expiry parameters that are all inherited
+   */
+
+  public static ChAddressExpiry defaults()
+  {
+    return new ChAddressExpiry(
+      OptionalLong.empty(),
+      OptionalLong.empty(),
+      OptionalLong.empty()
+    );
+  }
+}
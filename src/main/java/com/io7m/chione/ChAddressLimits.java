@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Memory limits for a set of addresses. Limits that are not present are
+ * inherited from less specific address settings.
+ *
+ * @param maxSizeBytes      The maximum size in bytes of an address ({@code -1}
+ *                          for unlimited)
+ * @param maxSizeMessages   The maximum number of messages on an address
+ *                          ({@code -1} for unlimited)
+ * @param addressFullPolicy The policy applied when an address is full
+ */
+
+public record ChAddressLimits(
+  OptionalLong maxSizeBytes,
+  OptionalLong maxSizeMessages,
+  Optional<AddressFullMessagePolicy> addressFullPolicy)
+{
+  /**
+   * Memory limits for a set of addresses. Limits that are not present are
+   * inherited from less specific address settings.
+   *
+   * @param maxSizeBytes      The maximum size in bytes of an address
+   *                          ({@code -1} for unlimited)
+   * @param maxSizeMessages   The maximum number of messages on an address
+   *                          ({@code -1} for unlimited)
+   * @param addressFullPolicy The policy applied when an address is full
+   */
+
+  public ChAddressLimits
+  {
+    Objects.requireNonNull(maxSizeBytes, "maxSizeBytes");
+    Objects.requireNonNull(maxSizeMessages, "maxSizeMessages");
+    Objects.requireNonNull(addressFullPolicy, "addressFullPolicy");
+  }
+
+  /**
+   * @return A set of limits that are all inherited
+   */
+
+  public static ChAddressLimits defaults()
+  {
+    return new ChAddressLimits(
+      OptionalLong.empty(),
+      OptionalLong.empty(),
+      Optional.empty()
+    );
+  }
+}
@@ -17,23 +17,31 @@
 
 package com.io7m.chione;
 
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * A multicast address.
- * @param name The name
+ *
+ * @param name          The name
+ * @param subscriptions The subscription queues declared on the address
  */
 
-public record ChAddressMulticast(String name)
+public record ChAddressMulticast(
+  String name,
+  Map<String, ChSubscription> subscriptions)
   implements ChAddressType
 {
   /**
    * A multicast address.
-   * @param name The name
+   *
+   * @param name          The name
+   * @param subscriptions The subscription queues declared on the address
    */
 
   public ChAddressMulticast
   {
     Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(subscriptions, "subscriptions");
   }
 }
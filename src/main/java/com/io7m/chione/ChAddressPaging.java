@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * Paging parameters for a set of addresses. Parameters that are not present
+ * are inherited from less specific address settings.
+ *
+ * @param pageSizeBytes        The size in bytes of each page file
+ * @param maxReadPageMessages  The maximum number of paged messages held in
+ *                             memory for each queue
+ * @param maxReadPageBytes     The maximum number of paged bytes held in memory
+ *                             for each queue
+ * @param prefetchPageMessages The number of paged messages read ahead for
+ *                             each queue
+ * @param prefetchPageBytes    The number of paged bytes read ahead for each
+ *                             queue
+ */
+
+public record ChAddressPaging(
+  OptionalInt pageSizeBytes,
+  OptionalInt maxReadPageMessages,
+  OptionalInt maxReadPageBytes,
+  OptionalInt prefetchPageMessages,
+  OptionalInt prefetchPageBytes)
+{
+  /**
+   * Paging parameters for a set of addresses. Parameters that are not present
+   * are inherited from less specific address settings.
+   *
+   * @param pageSizeBytes        The size in bytes of each page file
+   * @param maxReadPageMessages  The maximum number of paged messages held in
+   *                             memory for each queue
+   * @param maxReadPageBytes     The maximum number of paged bytes held in
+   *                             memory for each queue
+   * @param prefetchPageMessages The number of paged messages read ahead for
+   *                             each queue
+   * @param prefetchPageBytes    The number of paged bytes read ahead for each
+   *                             queue
+   */
+
+  public ChAddressPaging
+  {
+    Objects.requireNonNull(pageSizeBytes, "pageSizeBytes");
+    Objects.requireNonNull(maxReadPageMessages, "maxReadPageMessages");
+    Objects.requireNonNull(maxReadPageBytes, "maxReadPageBytes");
+    Objects.requireNonNull(prefetchPageMessages, "prefetchPageMessages");
+    Objects.requireNonNull(prefetchPageBytes, "prefetchPageBytes");
+  }
+
+  /**
+   * @return A set of paging parameters that are all inherited
+   */
+
+  public static ChAddressPaging defaults()
+  {
+    return new ChAddressPaging(
+      OptionalInt.empty(),
+      OptionalInt.empty(),
+      OptionalInt.empty(),
+      OptionalInt.empty(),
+      OptionalInt.empty()
+    );
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Redelivery parameters for a set of addresses. Parameters that are not
+ * present are inherited from less specific address settings.
+ *
+ * @param redeliveryDelay      The delay in milliseconds before the first
+ *                             redelivery of a message
+ * @param redeliveryMultiplier The factor by which the delay is multiplied on
+ *                             each subsequent redelivery
+ * @param maxRedeliveryDelay   The maximum delay in milliseconds between
+ *                             redeliveries
+ * @param maxDeliveryAttempts  The number of deliveries before a message is
+ *                             sent to the dead letter queue
+ */
+
+public record ChAddressRedelivery(
+  OptionalLong redeliveryDelay,
+  OptionalDouble redeliveryMultiplier,
+  OptionalLong maxRedeliveryDelay,
+  OptionalInt maxDeliveryAttempts)
+{
+  /**
+   * Redelivery parameters for a set of addresses. Parameters that are not
+   * present are inherited from less specific address settings.
+   *
+   * @param redeliveryDelay      The delay in milliseconds before the first
+   *                             redelivery of a message
+   * @param redeliveryMultiplier The factor by which the delay is multiplied
+   *                             on each subsequent redelivery
+   * @param maxRedeliveryDelay   The maximum delay in milliseconds between
+   *                             redeliveries
+   * @param maxDeliveryAttempts  The number of deliveries before a message is
+   *                             sent to the dead letter queue
+   */
+
+  public ChAddressRedelivery
+  {
+    Objects.requireNonNull(redeliveryDelay, "redeliveryDelay");
+    Objects.requireNonNull(redeliveryMultiplier, "redeliveryMultiplier");
+    Objects.requireNonNull(maxRedeliveryDelay, "maxRedeliveryDelay");
+    Objects.requireNonNull(maxDeliveryAttempts, "maxDeliveryAttempts");
+  }
+
+  /**
+   * @return A set of redelivery parameters that are all inherited
+   */
+
+  public static ChAddressRedelivery defaults()
+  {
+    return new ChAddressRedelivery(
+      OptionalLong.empty(),
+      OptionalDouble.empty(),
+      OptionalLong.empty(),
+      OptionalInt.empty()
+    );
+  }
+}
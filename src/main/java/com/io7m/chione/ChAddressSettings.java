@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+
+/**
+ * Settings applied to all addresses matching a given pattern. The pattern
+ * uses the Artemis wildcard syntax, where {@code #} matches any sequence of
+ * words and {@code *} matches a single word.
+ *
+ * @param match         The address pattern
+ * @param limits        The memory limits
+ * @param paging        The paging parameters
+ * @param redelivery    The redelivery parameters
+ * @param slowConsumers The slow consumer detection parameters
+ * @param autoDelete    The auto-deletion parameters
+ * @param expiry        The message expiry parameters
+ */
+
+public record ChAddressSettings(
+  String match,
+  ChAddressLimits limits,
+  ChAddressPaging paging,
+  ChAddressRedelivery redelivery,
+  ChAddressSlowConsumers slowConsumers,
+  ChAddressAutoDelete autoDelete,
+  ChAddressExpiry expiry)
+{
+  /**
+   * Settings applied to all addresses matching a given pattern.
+   *
+   * @param match         The address pattern
+   * @param limits        The memory limits
+   * @param paging        The paging parameters
+   * @param redelivery    The redelivery parameters
+   * @param slowConsumers The slow consumer detection parameters
+   * @param autoDelete    The auto-deletion parameters
+   * @param expiry        The message expiry parameters
+   */
+
+  public ChAddressSettings
+  {
+    Objects.requireNonNull(match, "match");
+    Objects.requireNonNull(limits, "limits");
+    Objects.requireNonNull(paging, "paging");
+    Objects.requireNonNull(redelivery, "redelivery");
+    Objects.requireNonNull(slowConsumers, "slowConsumers");
+    Objects.requireNonNull(autoDelete, "autoDelete");
+    Objects.requireNonNull(expiry, "expiry");
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import org.apache.activemq.artemis.core.settings.impl.SlowConsumerPolicy;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Slow consumer detection parameters for a set of addresses. Parameters
+ * that are not present are inherited from less specific address settings.
+ *
+ * @param threshold   The minimum rate in messages per second below which a
+ *                    consumer is considered slow; -1 disables detection
+ * @param checkPeriod The period in seconds between checks
+ * @param policy      The action taken when a slow consumer is detected
+ */
+
+public record ChAddressSlowConsumers(
+  OptionalLong threshold,
+  OptionalLong checkPeriod,
+  Optional<SlowConsumerPolicy> policy)
+{
+  /**
+   * Slow consumer detection parameters for a set of addresses. Parameters
+   * that are not present are inherited from less specific address settings.
+   *
+   * @param threshold   The minimum rate in messages per second below which a
+   *                    consumer is considered slow; -1 disables detection
+   * @param checkPeriod The period in seconds between checks
+   * @param policy      The action taken when a slow consumer is detected
+   */
+
+  public ChAddressSlowConsumers
+  {
+    Objects.requireNonNull(threshold, "threshold");
+    Objects.requireNonNull(checkPeriod, "checkPeriod");
+    Objects.requireNonNull(policy, "policy");
+  }
+
+  /**
+   * @return A set of slow consumer parameters that are all inherited
+   */
+
+  public static ChAddressSlowConsumers defaults()
+  {
+    return new ChAddressSlowConsumers(
+      OptionalLong.empty(),
+      OptionalLong.empty(),
+      Optional.empty()
+    );
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Parameters for the periodic scan that deletes idle auto-created addresses
+ * and queues. Parameters that are not present take the defaults.
+ *
+ * @param scanPeriod   The period in milliseconds between scans
+ * @param reportPeriod The period in milliseconds between reports of the
+ *                     number of addresses and queues deleted
+ */
+
+public record ChAutoDeletion(
+  OptionalLong scanPeriod,
+  OptionalLong reportPeriod)
+{
+  /**
+   * The default report period in milliseconds.
+   */
+
+  public static final long DEFAULT_REPORT_PERIOD = 300_000L;
+
+  /**
+   * Parameters for the periodic scan that deletes idle auto-created
+   * addresses and queues. Parameters that are not present take the defaults.
+   *
+   * @param scanPeriod   The period in milliseconds between scans
+   * @param reportPeriod The period in milliseconds between reports of the
+   *                     number of addresses and queues deleted
+   */
+
+  public ChAutoDeletion
+  {
+    Objects.requireNonNull(scanPeriod, "scanPeriod");
+    Objects.requireNonNull(reportPeriod, "reportPeriod");
+  }
+
+  /**
+   * @return A set of parameters that are all defaults
+   */
+
+  public static ChAutoDeletion defaults()
+  {
+    return new ChAutoDeletion(
+      OptionalLong.empty(),
+      OptionalLong.empty()
+    );
+  }
+
+  /**
+   * @return The report period in milliseconds
+   */
+
+  public long reportPeriodOrDefault()
+  {
+    return this.reportPeriod.orElse(DEFAULT_REPORT_PERIOD);
+  }
+}
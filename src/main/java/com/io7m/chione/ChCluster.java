@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * A symmetric cluster of broker nodes.
+ *
+ * @param name                 The cluster connection name
+ * @param localConnector       The connector that other nodes use to reach
+ *                             this node
+ * @param staticConnectors     The connectors for the other nodes
+ * @param messageLoadBalancing The message load balancing type
+ * @param user                 The cluster user name
+ * @param password             The cluster password
+ * @param maxHops              The maximum number of forwarding hops
+ * @param redistributionDelay  The redistribution delay in milliseconds
+ */
+
+public record ChCluster(
+  String name,
+  String localConnector,
+  List<String> staticConnectors,
+  MessageLoadBalancingType messageLoadBalancing,
+  String user,
+  String password,
+  OptionalInt maxHops,
+  OptionalLong redistributionDelay)
+{
+  /**
+   * A symmetric cluster of broker nodes.
+   *
+   * @param name                 The cluster connection name
+   * @param localConnector       The connector that other nodes use to reach
+   *                             this node
+   * @param staticConnectors     The connectors for the other nodes
+   * @param messageLoadBalancing The message load balancing type
+   * @param user                 The cluster user name
+   * @param password             The cluster password
+   * @param maxHops              The maximum number of forwarding hops
+   * @param redistributionDelay  The redistribution delay in milliseconds
+   */
+
+  public ChCluster
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(localConnector, "localConnector");
+    Objects.requireNonNull(staticConnectors, "staticConnectors");
+    Objects.requireNonNull(messageLoadBalancing, "messageLoadBalancing");
+    Objects.requireNonNull(user, "user");
+    Objects.requireNonNull(password, "password");
+    Objects.requireNonNull(maxHops, "maxHops");
+    Objects.requireNonNull(redistributionDelay, "redistributionDelay");
+  }
+
+  /**
+   * @return {@code true} if the load balancing type redistributes messages
+   * from queues that have no consumers
+   */
+
+  public boolean redistributes()
+  {
+    return switch (this.messageLoadBalancing) {
+      case ON_DEMAND, OFF_WITH_REDISTRIBUTION -> true;
+      case OFF, STRICT, LOCAL_ONLY -> false;
+    };
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[ChCluster %s %s %s %s]".formatted(
+      this.name,
+      this.localConnector,
+      this.staticConnectors,
+      this.messageLoadBalancing
+    );
+  }
+}
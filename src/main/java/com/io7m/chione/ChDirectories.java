@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The directories in which the server stores its data.
+ *
+ * @param journal       The message journal directory
+ * @param bindings      The bindings journal directory
+ * @param paging        The paging directory
+ * @param largeMessages The large message directory
+ */
+
+public record ChDirectories(
+  Path journal,
+  Path bindings,
+  Path paging,
+  Path largeMessages)
+{
+  /**
+   * The directories in which the server stores its data.
+   *
+   * @param journal       The message journal directory
+   * @param bindings      The bindings journal directory
+   * @param paging        The paging directory
+   * @param largeMessages The large message directory
+   */
+
+  public ChDirectories
+  {
+    Objects.requireNonNull(journal, "journal");
+    Objects.requireNonNull(bindings, "bindings");
+    Objects.requireNonNull(paging, "paging");
+    Objects.requireNonNull(largeMessages, "largeMessages");
+  }
+
+  /**
+   * @param dataDirectory The data directory
+   *
+   * @return The default directories within the given data directory
+   */
+
+  public static ChDirectories defaultsFor(
+    final Path dataDirectory)
+  {
+    return new ChDirectories(
+      dataDirectory.resolve("journal"),
+      dataDirectory.resolve("bindings"),
+      dataDirectory.resolve("paging"),
+      dataDirectory.resolve("large-messages")
+    );
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Parameters for the periodic scan that removes expired messages from
+ * queues. Parameters that are not present take the Artemis defaults.
+ *
+ * @param scanPeriod The period in milliseconds between scans
+ */
+
+public record ChExpiryScan(
+  OptionalLong scanPeriod)
+{
+  /**
+   * Parameters for the periodic scan that removes expired messages from
+   * queues. Parameters that are not present take the Artemis defaults.
+   *
+   * @param scanPeriod The period in milliseconds between scans
+   */
+
+  public ChExpiryScan
+  {
+    Objects.requireNonNull(scanPeriod, "scanPeriod");
+  }
+
+  /**
+   * @return A set of parameters that are all Artemis defaults
+   */
+
+  public static ChExpiryScan defaults()
+  {
+    return new ChExpiryScan(OptionalLong.empty());
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Federation of addresses and queues from upstream brokers.
+ *
+ * @param name            The federation name
+ * @param user            The user name used to authenticate with upstreams
+ * @param password        The password used to authenticate with upstreams
+ * @param addressPolicies The address policies
+ * @param queuePolicies   The queue policies
+ * @param upstreams       The upstream brokers
+ */
+
+public record ChFederation(
+  String name,
+  String user,
+  String password,
+  Map<String, ChFederationAddressPolicy> addressPolicies,
+  Map<String, ChFederationQueuePolicy> queuePolicies,
+  Map<String, ChFederationUpstream> upstreams)
+{
+  /**
+   * Federation of addresses and queues from upstream brokers.
+   *
+   * @param name            The federation name
+   * @param user            The user name used to authenticate with upstreams
+   * @param password        The password used to authenticate with upstreams
+   * @param addressPolicies The address policies
+   * @param queuePolicies   The queue policies
+   * @param upstreams       The upstream brokers
+   */
+
+  public ChFederation
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(user, "user");
+    Objects.requireNonNull(password, "password");
+    Objects.requireNonNull(addressPolicies, "addressPolicies");
+    Objects.requireNonNull(queuePolicies, "queuePolicies");
+    Objects.requireNonNull(upstreams, "upstreams");
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[ChFederation %s %s]".formatted(this.name, this.upstreams);
+  }
+}
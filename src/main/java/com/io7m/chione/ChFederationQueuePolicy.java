@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A federation policy for queues.
+ *
+ * @param name             The policy name
+ * @param queueMatch       The queue pattern
+ * @param addressMatch     The pattern for the addresses of matching queues
+ * @param includeFederated Whether federation consumers create demand
+ */
+
+public record ChFederationQueuePolicy(
+  String name,
+  String queueMatch,
+  Optional<String> addressMatch,
+  Optional<Boolean> includeFederated)
+{
+  /**
+   * A federation policy for queues.
+   *
+   * @param name             The policy name
+   * @param queueMatch       The queue pattern
+   * @param addressMatch     The pattern for the addresses of matching queues
+   * @param includeFederated Whether federation consumers create demand
+   */
+
+  public ChFederationQueuePolicy
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(queueMatch, "queueMatch");
+    Objects.requireNonNull(addressMatch, "addressMatch");
+    Objects.requireNonNull(includeFederated, "includeFederated");
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An upstream broker from which messages are pulled.
+ *
+ * @param name      The upstream name
+ * @param connector The name of the connector used to reach the upstream
+ * @param policies  The names of the policies applied to the upstream
+ */
+
+public record ChFederationUpstream(
+  String name,
+  String connector,
+  Set<String> policies)
+{
+  /**
+   * An upstream broker from which messages are pulled.
+   *
+   * @param name      The upstream name
+   * @param connector The name of the connector used to reach the upstream
+   * @param policies  The names of the policies applied to the upstream
+   */
+
+  public ChFederationUpstream
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(connector, "connector");
+    Objects.requireNonNull(policies, "policies");
+  }
+}
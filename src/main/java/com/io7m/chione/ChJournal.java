@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * Parameters for the message journal. Parameters that are not present take
+ * the Artemis defaults.
+ *
+ * @param compactMinFiles   The minimum number of journal files that must
+ *                          exist before compaction is considered
+ * @param compactPercentage The percentage of live data below which the
+ *                          journal is compacted
+ */
+
+public record ChJournal(
+  OptionalInt compactMinFiles,
+  OptionalInt compactPercentage)
+{
+  /**
+   * Parameters for the message journal. Parameters that are not present
+   * take the Artemis defaults.
+   *
+   * @param compactMinFiles   The minimum number of journal files that must
+   *                          exist before compaction is considered
+   * @param compactPercentage The percentage of live data below which the
+   *                          journal is compacted
+   */
+
+  public ChJournal
+  {
+    Objects.requireNonNull(compactMinFiles, "compactMinFiles");
+    Objects.requireNonNull(compactPercentage, "compactPercentage");
+  }
+
+  /**
+   * @return A set of parameters that are all defaults
+   */
+
+  public static ChJournal defaults()
+  {
+    return new ChJournal(
+      OptionalInt.empty(),
+      OptionalInt.empty()
+    );
+  }
+}
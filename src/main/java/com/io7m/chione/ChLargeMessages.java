@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Large message handling parameters. Parameters that are not present take
+ * the Artemis defaults.
+ *
+ * @param sync Whether large message files are synced to disk as they are
+ *             written
+ */
+
+public record ChLargeMessages(
+  Optional<Boolean> sync)
+{
+  /**
+   * Large message handling parameters. Parameters that are not present take
+   * the Artemis defaults.
+   *
+   * @param sync Whether large message files are synced to disk as they are
+   *             written
+   */
+
+  public ChLargeMessages
+  {
+    Objects.requireNonNull(sync, "sync");
+  }
+
+  /**
+   * @return A set of parameters that are all Artemis defaults
+   */
+
+  public static ChLargeMessages defaults()
+  {
+    return new ChLargeMessages(Optional.empty());
+  }
+}
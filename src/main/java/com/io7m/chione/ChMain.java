@@ -17,8 +17,13 @@
 package com.io7m.chione;
 
 import com.io7m.chione.internal.commands.ChCheckConfiguration;
+import com.io7m.chione.internal.commands.ChCompactJournal;
+import com.io7m.chione.internal.commands.ChCreateCDSArchive;
 import com.io7m.chione.internal.commands.ChCreateHashedPassword;
+import com.io7m.chione.internal.commands.ChExportData;
+import com.io7m.chione.internal.commands.ChImportData;
 import com.io7m.chione.internal.commands.ChRunServer;
+import com.io7m.chione.internal.commands.ChTrainingRun;
 import com.io7m.claypot.core.CLPApplicationConfiguration;
 import com.io7m.claypot.core.CLPCommandConstructorType;
 import com.io7m.claypot.core.CLPCommandType;
@@ -61,7 +66,12 @@ public final class ChMain implements Runnable
       List.of(
         ChCheckConfiguration::new,
         ChRunServer::new,
-        ChCreateHashedPassword::new
+        ChCreateHashedPassword::new,
+        ChCompactJournal::new,
+        ChExportData::new,
+        ChImportData::new,
+        ChTrainingRun::new,
+        ChCreateCDSArchive::new
       );
 
     final var configuration =
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Options applied to declared queues. Options that are not present take
+ * the broker defaults.
+ *
+ * @param groupRebalance {@code true} if message groups are reassigned
+ *                       across consumers when a consumer is added
+ * @param groupBuckets   The number of buckets into which message groups are
+ *                       hashed; -1 means that groups are not hashed
+ * @param groupFirstKey  The message property set on the first message of a
+ *                       group delivered to a consumer
+ * @param lastValueKey   The message property whose value identifies
+ *                       messages that replace one another
+ * @param nonDestructive {@code true} if consuming a message does not remove
+ *                       it from the queue
+ * @param ringSize       The maximum number of messages in the queue, beyond
+ *                       which the oldest messages are overwritten
+ * @param durable        {@code true} if the queue and its durable messages
+ *                       are persisted in the journal
+ */
+
+public record ChQueueOptions(
+  Optional<Boolean> groupRebalance,
+  OptionalInt groupBuckets,
+  Optional<String> groupFirstKey,
+  Optional<String> lastValueKey,
+  Optional<Boolean> nonDestructive,
+  OptionalLong ringSize,
+  Optional<Boolean> durable)
+{
+  /**
+   * Options applied to declared queues. Options that are not present take
+   * the broker defaults.
+   *
+   * @param groupRebalance {@code true} if message groups are reassigned
+   *                       across consumers when a consumer is added
+   * @param groupBuckets   The number of buckets into which message groups
+   *                       are hashed; -1 means that groups are not hashed
+   * @param groupFirstKey  The message property set on the first message of a
+   *                       group delivered to a consumer
+   * @param lastValueKey   The message property whose value identifies
+   *                       messages that replace one another
+   * @param nonDestructive {@code true} if consuming a message does not
+   *                       remove it from the queue
+   * @param ringSize       The maximum number of messages in the queue,
+   *                       beyond which the oldest messages are overwritten
+   * @param durable        {@code true} if the queue and its durable messages
+   *                       are persisted in the journal
+   */
+
+  public ChQueueOptions
+  {
+    Objects.requireNonNull(groupRebalance, "groupRebalance");
+    Objects.requireNonNull(groupBuckets, "groupBuckets");
+    Objects.requireNonNull(groupFirstKey, "groupFirstKey");
+    Objects.requireNonNull(lastValueKey, "lastValueKey");
+    Objects.requireNonNull(nonDestructive, "nonDestructive");
+    Objects.requireNonNull(ringSize, "ringSize");
+    Objects.requireNonNull(durable, "durable");
+  }
+
+  /**
+   * @return A set of options that all take the broker defaults
+   */
+
+  public static ChQueueOptions defaults()
+  {
+    return new ChQueueOptions(
+      Optional.empty(),
+      OptionalInt.empty(),
+      Optional.empty(),
+      Optional.empty(),
+      Optional.empty(),
+      OptionalLong.empty(),
+      Optional.empty()
+    );
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Broker-wide memory and disk limits. Limits that are not present take the
+ * Artemis defaults.
+ *
+ * @param globalMaxSizeBytes        The maximum size in bytes of all addresses
+ * @param globalMaxSizeHeapFraction The maximum size of all addresses as a
+ *                                  fraction of the maximum heap size
+ * @param globalMaxMessages         The maximum number of messages on all
+ *                                  addresses
+ * @param maxDiskUsage              The maximum disk usage as a percentage
+ * @param minDiskFree               The minimum free disk space in bytes
+ * @param diskScanPeriod            The period in milliseconds at which disk
+ *                                  usage is checked
+ */
+
+public record ChResourceLimits(
+  OptionalLong globalMaxSizeBytes,
+  OptionalDouble globalMaxSizeHeapFraction,
+  OptionalLong globalMaxMessages,
+  OptionalInt maxDiskUsage,
+  OptionalLong minDiskFree,
+  OptionalInt diskScanPeriod)
+{
+  /**
+   * Broker-wide memory and disk limits. Limits that are not present take the
+   * Artemis defaults.
+   *
+   * @param globalMaxSizeBytes        The maximum size in bytes of all
+   *                                  addresses
+   * @param globalMaxSizeHeapFraction The maximum size of all addresses as a
+   *                                  fraction of the maximum heap size
+   * @param globalMaxMessages         The maximum number of messages on all
+   *                                  addresses
+   * @param maxDiskUsage              The maximum disk usage as a percentage
+   * @param minDiskFree               The minimum free disk space in bytes
+   * @param diskScanPeriod            The period in milliseconds at which disk
+   *                                  usage is checked
+   */
+
+  public ChResourceLimits
+  {
+    Objects.requireNonNull(globalMaxSizeBytes, "globalMaxSizeBytes");
+    Objects.requireNonNull(
+      globalMaxSizeHeapFraction, "globalMaxSizeHeapFraction");
+    Objects.requireNonNull(globalMaxMessages, "globalMaxMessages");
+    Objects.requireNonNull(maxDiskUsage, "maxDiskUsage");
+    Objects.requireNonNull(minDiskFree, "minDiskFree");
+    Objects.requireNonNull(diskScanPeriod, "diskScanPeriod");
+
+    if (globalMaxSizeBytes.isPresent()
+        && globalMaxSizeHeapFraction.isPresent()) {
+      throw new IllegalArgumentException(
+        "At most one of globalMaxSizeBytes and globalMaxSizeHeapFraction may be specified."
+      );
+    }
+  }
+
+  /**
+   * @return A set of limits that are all Artemis defaults
+   */
+
+  public static ChResourceLimits defaults()
+  {
+    return new ChResourceLimits(
+      OptionalLong.empty(),
+      OptionalDouble.empty(),
+      OptionalLong.empty(),
+      OptionalInt.empty(),
+      OptionalLong.empty(),
+      OptionalInt.empty()
+    );
+  }
+
+  /**
+   * Resolve the global maximum size against the given maximum heap size.
+   *
+   * @param maxHeap The maximum heap size in bytes
+   *
+   * @return The global maximum size in bytes, if one is specified
+   */
+
+  public OptionalLong globalMaxSize(
+    final long maxHeap)
+  {
+    if (this.globalMaxSizeBytes.isPresent()) {
+      return this.globalMaxSizeBytes;
+    }
+    if (this.globalMaxSizeHeapFraction.isPresent()) {
+      return OptionalLong.of(
+        (long) ((double) maxHeap * this.globalMaxSizeHeapFraction.getAsDouble())
+      );
+    }
+    return OptionalLong.empty();
+  }
+}
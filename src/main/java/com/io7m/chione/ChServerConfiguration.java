@@ -21,45 +21,167 @@ import org.apache.activemq.artemis.core.security.CheckType;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * The server configuration.
  *
- * @param name          The server name
- * @param dataDirectory The server's data directory
- * @param addresses     The address configurations
- * @param roles         The roles
- * @param users         The users
- * @param accessControl The address access control
+ * @param name            The server name
+ * @param dataDirectory   The server's data directory
+ * @param directories     The directories in which the server stores its data
+ * @param addresses       The address configurations
+ * @param roles           The roles
+ * @param users           The users
+ * @param accessControl   The address access control
+ * @param acceptors       The acceptors
+ * @param addressSettings The address settings by address pattern
+ * @param resourceLimits  The broker-wide memory and disk limits
+ * @param largeMessages   The large message handling parameters
+ * @param threadPools     The broker thread pool parameters
+ * @param metrics         The metrics endpoint, if any
+ * @param connectors      The connectors
+ * @param cluster         The cluster configuration, if any
+ * @param federation      The federation configuration, if any
+ * @param autoDeletion    The auto-deletion scan parameters
+ * @param expiryScan      The message expiry scan parameters
+ * @param shutdown        The graceful shutdown parameters
+ * @param journal         The message journal parameters
  */
 
 public record ChServerConfiguration(
   String name,
   Path dataDirectory,
+  ChDirectories directories,
   Set<ChAddressType> addresses,
   Set<String> roles,
   Map<String, ChUser> users,
-  Map<String, ChAddressRoleGrants> accessControl)
+  Map<String, ChAddressRoleGrants> accessControl,
+  Map<String, ChAcceptor> acceptors,
+  Map<String, ChAddressSettings> addressSettings,
+  ChResourceLimits resourceLimits,
+  ChLargeMessages largeMessages,
+  ChThreadPools threadPools,
+  Optional<ChMetrics> metrics,
+  Map<String, ChConnector> connectors,
+  Optional<ChCluster> cluster,
+  Optional<ChFederation> federation,
+  ChAutoDeletion autoDeletion,
+  ChExpiryScan expiryScan,
+  ChShutdown shutdown,
+  ChJournal journal)
 {
   /**
    * The server configuration.
    *
-   * @param name          The server name
-   * @param dataDirectory The server's data directory
-   * @param addresses     The address configurations
-   * @param roles         The roles
-   * @param users         The users
-   * @param accessControl The address access control
+   * @param name            The server name
+   * @param dataDirectory   The server's data directory
+   * @param directories     The directories in which the server stores its data
+   * @param addresses       The address configurations
+   * @param roles           The roles
+   * @param users           The users
+   * @param accessControl   The address access control
+   * @param acceptors       The acceptors
+   * @param addressSettings The address settings by address pattern
+   * @param resourceLimits  The broker-wide memory and disk limits
+   * @param largeMessages   The large message handling parameters
+   * @param threadPools     The broker thread pool parameters
+   * @param metrics         The metrics endpoint, if any
+   * @param connectors      The connectors
+   * @param cluster         The cluster configuration, if any
+   * @param federation      The federation configuration, if any
+   * @param autoDeletion    The auto-deletion scan parameters
+   * @param expiryScan      The message expiry scan parameters
+   * @param shutdown        The graceful shutdown parameters
+   * @param journal         The message journal parameters
    */
 
   public ChServerConfiguration
   {
     Objects.requireNonNull(name, "name");
     Objects.requireNonNull(dataDirectory, "dataDirectory");
+    Objects.requireNonNull(directories, "directories");
     Objects.requireNonNull(addresses, "addresses");
     Objects.requireNonNull(roles, "roles");
     Objects.requireNonNull(users, "users");
+    Objects.requireNonNull(acceptors, "acceptors");
+    Objects.requireNonNull(addressSettings, "addressSettings");
+    Objects.requireNonNull(resourceLimits, "resourceLimits");
+    Objects.requireNonNull(largeMessages, "largeMessages");
+    Objects.requireNonNull(threadPools, "threadPools");
+    Objects.requireNonNull(metrics, "metrics");
+    Objects.requireNonNull(connectors, "connectors");
+    Objects.requireNonNull(cluster, "cluster");
+    Objects.requireNonNull(federation, "federation");
+    Objects.requireNonNull(autoDeletion, "autoDeletion");
+    Objects.requireNonNull(expiryScan, "expiryScan");
+    Objects.requireNonNull(shutdown, "shutdown");
+    Objects.requireNonNull(journal, "journal");
+  }
+
+  /**
+   * @param newDataDirectory The new data directory
+   *
+   * @return This configuration with the given data directory, and the
+   * default directories within it
+   */
+
+  public ChServerConfiguration withDataDirectory(
+    final Path newDataDirectory)
+  {
+    return new ChServerConfiguration(
+      this.name,
+      newDataDirectory,
+      ChDirectories.defaultsFor(newDataDirectory),
+      this.addresses,
+      this.roles,
+      this.users,
+      this.accessControl,
+      this.acceptors,
+      this.addressSettings,
+      this.resourceLimits,
+      this.largeMessages,
+      this.threadPools,
+      this.metrics,
+      this.connectors,
+      this.cluster,
+      this.federation,
+      this.autoDeletion,
+      this.expiryScan,
+      this.shutdown,
+      this.journal
+    );
+  }
+
+  /**
+   * @return This configuration without a cluster, federation, or metrics
+   * endpoint
+   */
+
+  public ChServerConfiguration standalone()
+  {
+    return new ChServerConfiguration(
+      this.name,
+      this.dataDirectory,
+      this.directories,
+      this.addresses,
+      this.roles,
+      this.users,
+      this.accessControl,
+      this.acceptors,
+      this.addressSettings,
+      this.resourceLimits,
+      this.largeMessages,
+      this.threadPools,
+      Optional.empty(),
+      this.connectors,
+      Optional.empty(),
+      Optional.empty(),
+      this.autoDeletion,
+      this.expiryScan,
+      this.shutdown,
+      this.journal
+    );
   }
 
   /**
@@ -17,17 +17,50 @@
 
 package com.io7m.chione;
 
+import com.io7m.chione.internal.ChAutoDeleteCounters;
+import com.io7m.chione.internal.ChEmbeddedActiveMQ;
+import com.io7m.chione.internal.ChLargeMessageCounters;
+import com.io7m.chione.internal.ChMaintenanceServer;
+import com.io7m.chione.internal.ChMetricsCollector;
+import com.io7m.chione.internal.ChPartitionRouter;
 import com.io7m.chione.internal.ChSecurityManager;
 import com.io7m.chione.internal.ChServer;
+import com.io7m.chione.internal.ChServiceNotifier;
+import com.io7m.chione.internal.ChSlowConsumerCounters;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.CoreAddressConfiguration;
+import org.apache.activemq.artemis.core.config.FederationConfiguration;
+import org.apache.activemq.artemis.core.config.federation.FederationAddressPolicyConfiguration;
+import org.apache.activemq.artemis.core.config.federation.FederationQueuePolicyConfiguration;
+import org.apache.activemq.artemis.core.config.federation.FederationUpstreamConfiguration;
 import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnectorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
 import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * A factory of servers.
@@ -35,6 +68,9 @@ import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerPolicy;
 
 public final class ChServers
 {
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChServers.class);
+
   /**
    * A factory of servers.
    */
@@ -48,6 +84,7 @@ public final class ChServers
    * Create a new server.
    *
    * @param configuration The server configuration
+   * @param notifier      The service manager notifier
    *
    * @return A new server
    *
@@ -55,36 +92,382 @@ public final class ChServers
    */
 
   public ChServer createServer(
+    final ChServerConfiguration configuration,
+    final ChServiceNotifier notifier)
+    throws Exception
+  {
+    Objects.requireNonNull(notifier, "notifier");
+
+    final var artemis = new ConfigurationImpl();
+    artemis.setName(configuration.name());
+    configureDirectories(configuration, artemis);
+    configureAddresses(configuration, artemis);
+    configureAddressSettings(configuration, artemis);
+    configureAcceptors(configuration, artemis);
+    configureResourceLimits(configuration, artemis);
+    configureCluster(configuration, artemis);
+    configureFederation(configuration, artemis);
+    configureExpiryScan(configuration, artemis);
+    configureShutdown(configuration, artemis);
+    configureJournal(configuration, artemis);
+
+    final var largeMessageCounters = new ChLargeMessageCounters();
+    configureLargeMessages(configuration, artemis, largeMessageCounters);
+    configurePartitions(configuration, artemis);
+
+    final var slowConsumerCounters = new ChSlowConsumerCounters();
+    artemis.registerBrokerPlugin(slowConsumerCounters);
+
+    final var autoDeleteCounters = new ChAutoDeleteCounters();
+    configureAutoDeletion(configuration, artemis, autoDeleteCounters);
+
+    final var mq =
+      new ChEmbeddedActiveMQ(configureThreadPools(configuration, artemis));
+    mq.setSecurityManager(new ChSecurityManager(configuration));
+    mq.setConfiguration(artemis);
+    return new ChServer(
+      mq,
+      largeMessageCounters,
+      configuration.metrics(),
+      new ChMetricsCollector(
+        largeMessageCounters,
+        slowConsumerCounters,
+        autoDeleteCounters
+      ),
+      autoDeleteCounters,
+      configuration.autoDeletion().reportPeriodOrDefault(),
+      notifier
+    );
+  }
+
+  /**
+   * Create a new maintenance server. A maintenance server uses the data
+   * directory, addresses, and address settings of the given configuration,
+   * but accepts only in-VM connections from the current process and does
+   * not authenticate clients. The server that normally uses the data
+   * directory must not be running.
+   *
+   * @param configuration The server configuration
+   *
+   * @return A new maintenance server
+   *
+   * @throws Exception On errors
+   */
+
+  public ChMaintenanceServer createMaintenanceServer(
     final ChServerConfiguration configuration)
     throws Exception
   {
     final var artemis = new ConfigurationImpl();
+    artemis.setName(configuration.name());
     configureDirectories(configuration, artemis);
     configureAddresses(configuration, artemis);
-    configureAcceptors(artemis);
+    configureAddressSettings(configuration, artemis);
+    configureResourceLimits(configuration, artemis);
+    configureJournal(configuration, artemis);
+
+    /*
+     * Messages must not expire, and queues must not be deleted, while
+     * their contents are being transferred.
+     */
+
+    artemis.setMessageExpiryScanPeriod(-1L);
+    artemis.setAddressQueueScanPeriod(-1L);
+    artemis.setSecurityEnabled(false);
+    artemis.clearAcceptorConfigurations();
+    artemis.addAcceptorConfiguration(
+      "maintenance",
+      ChMaintenanceServer.ACCEPTOR_URI
+    );
 
     final var mq = new EmbeddedActiveMQ();
-    mq.setSecurityManager(new ChSecurityManager(configuration));
     mq.setConfiguration(artemis);
-    return new ChServer(mq);
+    return new ChMaintenanceServer(mq);
+  }
+
+  private static void configureCluster(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    for (final var connector : configuration.connectors().values()) {
+      final var params = new TreeMap<String, Object>();
+      params.put(TransportConstants.HOST_PROP_NAME, connector.address());
+      params.put(
+        TransportConstants.PORT_PROP_NAME,
+        Integer.valueOf(connector.port()));
+
+      artemis.addConnectorConfiguration(
+        connector.name(),
+        new TransportConfiguration(
+          NettyConnectorFactory.class.getName(),
+          params,
+          connector.name()
+        )
+      );
+    }
+
+    final var clusterOpt = configuration.cluster();
+    if (clusterOpt.isEmpty()) {
+      return;
+    }
+
+    /*
+     * The cluster user is authenticated by the broker itself, and is
+     * permitted to perform any operation on any address.
+     */
+
+    final var cluster = clusterOpt.get();
+    artemis.setClusterUser(cluster.user());
+    artemis.setClusterPassword(cluster.password());
+
+    final var connection = new ClusterConnectionConfiguration();
+    connection.setName(cluster.name());
+    connection.setAddress("");
+    connection.setConnectorName(cluster.localConnector());
+    connection.setStaticConnectors(new ArrayList<>(cluster.staticConnectors()));
+    connection.setMessageLoadBalancingType(cluster.messageLoadBalancing());
+    cluster.maxHops().ifPresent(connection::setMaxHops);
+    artemis.addClusterConfiguration(connection);
+
+    /*
+     * Redistribution is disabled by default in Artemis. Enable it on all
+     * addresses if the load balancing type requires it.
+     */
+
+    if (cluster.redistributes()) {
+      final var delay = cluster.redistributionDelay().orElse(0L);
+      artemis.getAddressSettings()
+        .get("#")
+        .setRedistributionDelay(delay);
+    }
+
+    LOG.info(
+      "Cluster {}: local connector {}, static connectors {}, load balancing {}",
+      cluster.name(),
+      cluster.localConnector(),
+      cluster.staticConnectors(),
+      cluster.messageLoadBalancing());
+  }
+
+  private static void configureFederation(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    final var federationOpt = configuration.federation();
+    if (federationOpt.isEmpty()) {
+      return;
+    }
+
+    final var federation = federationOpt.get();
+    final var credentials = new FederationConfiguration.Credentials();
+    credentials.setUser(federation.user());
+    credentials.setPassword(federation.password());
+
+    final var result = new FederationConfiguration();
+    result.setName(federation.name());
+    result.setCredentials(credentials);
+
+    for (final var policy : federation.addressPolicies().values()) {
+      final var matcher = new FederationAddressPolicyConfiguration.Matcher();
+      matcher.setAddressMatch(policy.addressMatch());
+
+      final var addressPolicy = new FederationAddressPolicyConfiguration();
+      addressPolicy.setName(policy.name());
+      addressPolicy.addInclude(matcher);
+      policy.maxHops().ifPresent(addressPolicy::setMaxHops);
+      result.addAddressPolicy(addressPolicy);
+    }
+
+    for (final var policy : federation.queuePolicies().values()) {
+      final var matcher = new FederationQueuePolicyConfiguration.Matcher();
+      matcher.setQueueMatch(policy.queueMatch());
+      matcher.setAddressMatch(policy.addressMatch().orElse("#"));
+
+      final var queuePolicy = new FederationQueuePolicyConfiguration();
+      queuePolicy.setName(policy.name());
+      queuePolicy.addInclude(matcher);
+      policy.includeFederated()
+        .ifPresent(queuePolicy::setIncludeFederated);
+      result.addQueuePolicy(queuePolicy);
+    }
+
+    for (final var upstream : federation.upstreams().values()) {
+      final var upstreamConfig = new FederationUpstreamConfiguration();
+      upstreamConfig.setName(upstream.name());
+      upstreamConfig.addPolicyRefs(upstream.policies());
+      upstreamConfig.getConnectionConfiguration()
+        .setStaticConnectors(List.of(upstream.connector()));
+      result.addUpstreamConfiguration(upstreamConfig);
+
+      LOG.info(
+        "Federation {}: upstream {} via connector {} with policies {}",
+        federation.name(),
+        upstream.name(),
+        upstream.connector(),
+        upstream.policies());
+    }
+
+    artemis.addFederationConfiguration(result);
+  }
+
+  private static Optional<ExecutorService> configureThreadPools(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    final var threadPools = configuration.threadPools();
+    threadPools.threadPoolMaxSize()
+      .ifPresent(artemis::setThreadPoolMaxSize);
+    threadPools.scheduledThreadPoolMaxSize()
+      .ifPresent(artemis::setScheduledThreadPoolMaxSize);
+
+    LOG.info(
+      "Scheduled thread pool maximum size: {}",
+      Integer.valueOf(artemis.getScheduledThreadPoolMaxSize()));
+
+    if (threadPools.useVirtualThreads()) {
+      LOG.info("Thread pool: Virtual threads (experimental)");
+      return Optional.of(
+        Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual()
+            .name("chione-virtual-", 0L)
+            .factory())
+      );
+    }
+
+    LOG.info(
+      "Thread pool maximum size: {}",
+      Integer.valueOf(artemis.getThreadPoolMaxSize()));
+    return Optional.empty();
+  }
+
+  private static void configurePartitions(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    final var partitioned =
+      configuration.addresses()
+        .stream()
+        .filter(ChAddressAnycast.class::isInstance)
+        .map(ChAddressAnycast.class::cast)
+        .filter(ChAddressAnycast::isPartitioned)
+        .toList();
+
+    if (partitioned.isEmpty()) {
+      return;
+    }
+
+    for (final var address : partitioned) {
+      LOG.info(
+        "Address {}: {} partitions ({})",
+        address.name(),
+        Integer.valueOf(address.partitions()),
+        address.partitionKey()
+          .map("key %s"::formatted)
+          .orElse("group"));
+    }
+    artemis.registerBrokerPlugin(new ChPartitionRouter(partitioned));
+  }
+
+  private static void configureJournal(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    final var journal = configuration.journal();
+    journal.compactMinFiles()
+      .ifPresent(artemis::setJournalCompactMinFiles);
+    journal.compactPercentage()
+      .ifPresent(artemis::setJournalCompactPercentage);
+
+    LOG.info(
+      "Journal compaction: {} files minimum, {}% live data threshold",
+      Integer.valueOf(artemis.getJournalCompactMinFiles()),
+      Integer.valueOf(artemis.getJournalCompactPercentage())
+    );
+  }
+
+  private static void configureShutdown(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    artemis.setGracefulShutdownEnabled(true);
+    artemis.setGracefulShutdownTimeout(
+      configuration.shutdown().drainTimeoutOrDefault()
+    );
+
+    LOG.info(
+      "Shutdown drain timeout: {} ms",
+      Long.valueOf(artemis.getGracefulShutdownTimeout())
+    );
+  }
+
+  private static void configureExpiryScan(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    configuration.expiryScan()
+      .scanPeriod()
+      .ifPresent(artemis::setMessageExpiryScanPeriod);
+
+    LOG.info(
+      "Message expiry scan period: {} ms",
+      Long.valueOf(artemis.getMessageExpiryScanPeriod())
+    );
+  }
+
+  private static void configureAutoDeletion(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis,
+    final ChAutoDeleteCounters counters)
+  {
+    final var autoDeletion = configuration.autoDeletion();
+    autoDeletion.scanPeriod()
+      .ifPresent(artemis::setAddressQueueScanPeriod);
+
+    LOG.info(
+      "Auto-deletion scan period: {} ms (report period {} ms)",
+      Long.valueOf(artemis.getAddressQueueScanPeriod()),
+      Long.valueOf(autoDeletion.reportPeriodOrDefault())
+    );
+
+    artemis.registerBrokerPlugin(counters);
+  }
+
+  private static void configureLargeMessages(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis,
+    final ChLargeMessageCounters counters)
+  {
+    configuration.largeMessages()
+      .sync()
+      .ifPresent(artemis::setLargeMessageSync);
+
+    artemis.registerBrokerPlugin(counters);
   }
 
   private static void configureDirectories(
     final ChServerConfiguration configuration,
     final ConfigurationImpl artemis)
+    throws IOException
   {
     /*
      * Set all the directories.
      */
 
-    final var base =
-      configuration.dataDirectory()
-        .toAbsolutePath();
+    final var directories =
+      configuration.directories();
+    final var journal =
+      checkDirectory("Journal", directories.journal());
+    final var bindings =
+      checkDirectory("Bindings", directories.bindings());
+    final var largeMessages =
+      checkDirectory("Large messages", directories.largeMessages());
+    final var paging =
+      checkDirectory("Paging", directories.paging());
 
-    artemis.setJournalDirectory(base.resolve("journal").toString());
-    artemis.setBindingsDirectory(base.resolve("bindings").toString());
-    artemis.setLargeMessagesDirectory(base.resolve("large-messages").toString());
-    artemis.setPagingDirectory(base.resolve("paging").toString());
+    artemis.setJournalDirectory(journal.toString());
+    artemis.setBindingsDirectory(bindings.toString());
+    artemis.setLargeMessagesDirectory(largeMessages.toString());
+    artemis.setPagingDirectory(paging.toString());
 
     /*
      * Enable persistence.
@@ -102,12 +485,203 @@ public final class ChServers
     artemis.setCriticalAnalyzerCheckPeriod(60000L);
   }
 
+  private static void configureResourceLimits(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
+    final var limits =
+      configuration.resourceLimits();
+    final var maxHeap =
+      Runtime.getRuntime().maxMemory();
+    final var globalMaxSize =
+      limits.globalMaxSize(maxHeap);
+
+    globalMaxSize.ifPresent(artemis::setGlobalMaxSize);
+    limits.globalMaxMessages().ifPresent(artemis::setGlobalMaxMessages);
+    limits.maxDiskUsage().ifPresent(artemis::setMaxDiskUsage);
+    limits.minDiskFree().ifPresent(artemis::setMinDiskFree);
+    limits.diskScanPeriod().ifPresent(artemis::setDiskScanPeriod);
+
+    LOG.info("Maximum heap size: {} bytes", Long.valueOf(maxHeap));
+    if (globalMaxSize.isPresent()) {
+      LOG.info(
+        "Global max size: {} bytes",
+        Long.valueOf(globalMaxSize.getAsLong()));
+    } else {
+      LOG.info(
+        "Global max size: {} bytes (half of the maximum heap size)",
+        Long.valueOf(maxHeap / 2L));
+    }
+    LOG.info(
+      "Global max messages: {}",
+      Long.valueOf(artemis.getGlobalMaxMessages()));
+    LOG.info(
+      "Maximum disk usage: {}%",
+      Integer.valueOf(artemis.getMaxDiskUsage()));
+    LOG.info(
+      "Minimum free disk space: {} bytes",
+      Long.valueOf(artemis.getMinDiskFree()));
+    LOG.info(
+      "Disk scan period: {} ms",
+      Integer.valueOf(artemis.getDiskScanPeriod()));
+  }
+
+  private static Path checkDirectory(
+    final String description,
+    final Path directory)
+    throws IOException
+  {
+    final var path = directory.toAbsolutePath();
+    Files.createDirectories(path);
+
+    if (!Files.isWritable(path)) {
+      throw new IOException(
+        "%s directory %s is not writable.".formatted(description, path)
+      );
+    }
+
+    final var store = Files.getFileStore(path);
+    LOG.info(
+      "{} directory: {} (filesystem {} of type {}, {} bytes free)",
+      description,
+      path,
+      store.name(),
+      store.type(),
+      Long.valueOf(store.getUsableSpace())
+    );
+    return path;
+  }
+
   private static void configureAcceptors(
+    final ChServerConfiguration configuration,
     final ConfigurationImpl artemis)
     throws Exception
   {
     artemis.clearAcceptorConfigurations();
-    artemis.addAcceptorConfiguration("all", "tcp://[::]:61000");
+
+    for (final var acceptor : configuration.acceptors().values()) {
+      artemis.addAcceptorConfiguration(
+        acceptor.name(),
+        acceptorURI(acceptor).toString()
+      );
+    }
+  }
+
+  private static TreeMap<String, String> acceptorParameters(
+    final ChAcceptor acceptor)
+  {
+    final var parameters = new TreeMap<String, String>();
+
+    if (!acceptor.protocols().isEmpty()) {
+      parameters.put(
+        TransportConstants.PROTOCOLS_PROP_NAME,
+        acceptor.protocols()
+          .stream()
+          .map(Enum::name)
+          .sorted()
+          .collect(Collectors.joining(","))
+      );
+    }
+
+    final var transport = acceptor.transport();
+    transport.tcpSendBufferSize().ifPresent(x -> {
+      parameters.put(
+        TransportConstants.TCP_SENDBUFFER_SIZE_PROPNAME,
+        Integer.toString(x));
+    });
+    transport.tcpReceiveBufferSize().ifPresent(x -> {
+      parameters.put(
+        TransportConstants.TCP_RECEIVEBUFFER_SIZE_PROPNAME,
+        Integer.toString(x));
+    });
+    transport.tcpNoDelay().ifPresent(x -> {
+      parameters.put(
+        TransportConstants.TCP_NODELAY_PROPNAME,
+        x.toString());
+    });
+    transport.batchDelay().ifPresent(x -> {
+      parameters.put(
+        TransportConstants.BATCH_DELAY,
+        Long.toString(x));
+    });
+    transport.directDeliver().ifPresent(x -> {
+      parameters.put(
+        TransportConstants.DIRECT_DELIVER,
+        x.toString());
+    });
+    transport.remotingThreads().ifPresent(x -> {
+      parameters.put(
+        TransportConstants.REMOTING_THREADS_PROPNAME,
+        Integer.toString(x));
+    });
+
+    /*
+     * Artemis silently falls back to NIO if native epoll is requested but
+     * unavailable. Make the fallback explicit so that it shows up in the logs.
+     */
+
+    final var useEpoll =
+      transport.useEpoll()
+        .orElse(Boolean.valueOf(TransportConstants.DEFAULT_USE_EPOLL))
+        .booleanValue();
+
+    if (useEpoll && !CheckDependencies.isEpollAvailable()) {
+      LOG.warn(
+        "Acceptor {}: Native epoll is not available, falling back to NIO.",
+        acceptor.name()
+      );
+      parameters.put(TransportConstants.USE_EPOLL_PROP_NAME, "false");
+    } else {
+      parameters.put(
+        TransportConstants.USE_EPOLL_PROP_NAME,
+        Boolean.toString(useEpoll));
+    }
+
+    return parameters;
+  }
+
+  private static URI acceptorURI(
+    final ChAcceptor acceptor)
+    throws URISyntaxException
+  {
+    final var parameters = acceptorParameters(acceptor);
+
+    final String query;
+    if (parameters.isEmpty()) {
+      query = null;
+    } else {
+      query = parameters.entrySet()
+        .stream()
+        .map(e -> "%s=%s".formatted(e.getKey(), e.getValue()))
+        .collect(Collectors.joining("&"));
+    }
+
+    /*
+     * The URI constructor takes care of bracketing IPv6 addresses.
+     */
+
+    return new URI(
+      "tcp",
+      null,
+      acceptor.address(),
+      acceptor.port(),
+      null,
+      query,
+      null
+    );
+  }
+
+  private static void configureQueueOptions(
+    final ChQueueOptions options,
+    final QueueConfiguration queue)
+  {
+    options.groupRebalance().ifPresent(queue::setGroupRebalance);
+    options.groupBuckets().ifPresent(queue::setGroupBuckets);
+    options.groupFirstKey().ifPresent(queue::setGroupFirstKey);
+    options.lastValueKey().ifPresent(queue::setLastValueKey);
+    options.nonDestructive().ifPresent(queue::setNonDestructive);
+    options.ringSize().ifPresent(queue::setRingSize);
+    options.durable().ifPresent(queue::setDurable);
   }
 
   private static void configureAddresses(
@@ -120,11 +694,30 @@ public final class ChServers
       if (address instanceof ChAddressMulticast multicast) {
         c.addRoutingType(RoutingType.MULTICAST);
         c.setName(multicast.name());
+
+        for (final var subscription : multicast.subscriptions().values()) {
+          final var q = QueueConfiguration.of(subscription.name());
+          q.setAddress(multicast.name());
+          q.setRoutingType(RoutingType.MULTICAST);
+          subscription.filter().ifPresent(q::setFilterString);
+          configureQueueOptions(subscription.queueOptions(), q);
+          c.addQueueConfig(q);
+        }
       } else if (address instanceof ChAddressAnycast anycast) {
-        final var q = new QueueConfiguration(anycast.queueName());
         c.addRoutingType(RoutingType.ANYCAST);
         c.setName(anycast.name());
-        c.addQueueConfig(q);
+
+        final var queueNames = anycast.queueNames();
+        for (int index = 0; index < queueNames.size(); ++index) {
+          final var q = QueueConfiguration.of(queueNames.get(index));
+          q.setAddress(anycast.name());
+          q.setRoutingType(RoutingType.ANYCAST);
+          if (anycast.isPartitioned()) {
+            q.setFilterString(ChPartitionRouter.filterFor(index));
+          }
+          configureQueueOptions(anycast.queueOptions(), q);
+          c.addQueueConfig(q);
+        }
       } else {
         throw new IllegalStateException();
       }
@@ -135,6 +728,7 @@ public final class ChServers
     {
       final var c = new CoreAddressConfiguration();
       final var q = new QueueConfiguration("DeadLetterQueue");
+      q.setRoutingType(RoutingType.ANYCAST);
       c.addRoutingType(RoutingType.ANYCAST);
       c.setName("DeadLetterQueue");
       c.addQueueConfig(q);
@@ -144,12 +738,18 @@ public final class ChServers
     {
       final var c = new CoreAddressConfiguration();
       final var q = new QueueConfiguration("ExpiryQueue");
+      q.setRoutingType(RoutingType.ANYCAST);
       c.addRoutingType(RoutingType.ANYCAST);
       c.setName("ExpiryQueue");
       c.addQueueConfig(q);
       artemis.addAddressConfiguration(c);
     }
+  }
 
+  private static void configureAddressSettings(
+    final ChServerConfiguration configuration,
+    final ConfigurationImpl artemis)
+  {
     {
       final var settings = new AddressSettings();
       settings.setDeadLetterAddress(new SimpleString("DeadLetterQueue"));
@@ -175,5 +775,108 @@ public final class ChServers
       settings.setAutoCreateQueues(Boolean.TRUE);
       artemis.addAddressSetting("#", settings);
     }
+
+    /*
+     * Apply the configured address settings. Settings for a pattern that
+     * already has built-in settings (such as "#") are applied on top of the
+     * built-in settings rather than replacing them.
+     */
+
+    for (final var configured : configuration.addressSettings().values()) {
+      final var match = configured.match();
+      var settings = artemis.getAddressSettings().get(match);
+      if (settings == null) {
+        settings = new AddressSettings();
+      }
+      configureAddressLimits(configured.limits(), settings);
+      configureAddressPaging(configured.paging(), settings);
+      configureAddressRedelivery(configured.redelivery(), settings);
+      configureAddressSlowConsumers(configured.slowConsumers(), settings);
+      configureAddressAutoDelete(configured.autoDelete(), settings);
+      configureAddressExpiry(configured.expiry(), settings);
+      artemis.addAddressSetting(match, settings);
+    }
+  }
+
+  private static void configureAddressExpiry(
+    final ChAddressExpiry expiry,
+    final AddressSettings settings)
+  {
+    expiry.delay()
+      .ifPresent(settings::setExpiryDelay);
+    expiry.minDelay()
+      .ifPresent(settings::setMinExpiryDelay);
+    expiry.maxDelay()
+      .ifPresent(settings::setMaxExpiryDelay);
+  }
+
+  private static void configureAddressAutoDelete(
+    final ChAddressAutoDelete autoDelete,
+    final AddressSettings settings)
+  {
+    autoDelete.queues()
+      .ifPresent(settings::setAutoDeleteQueues);
+    autoDelete.queueDelay()
+      .ifPresent(settings::setAutoDeleteQueuesDelay);
+    autoDelete.queueMessageCount()
+      .ifPresent(settings::setAutoDeleteQueuesMessageCount);
+    autoDelete.addresses()
+      .ifPresent(settings::setAutoDeleteAddresses);
+    autoDelete.addressDelay()
+      .ifPresent(settings::setAutoDeleteAddressesDelay);
+  }
+
+  private static void configureAddressSlowConsumers(
+    final ChAddressSlowConsumers slowConsumers,
+    final AddressSettings settings)
+  {
+    slowConsumers.threshold()
+      .ifPresent(settings::setSlowConsumerThreshold);
+    slowConsumers.checkPeriod()
+      .ifPresent(settings::setSlowConsumerCheckPeriod);
+    slowConsumers.policy()
+      .ifPresent(settings::setSlowConsumerPolicy);
+  }
+
+  private static void configureAddressRedelivery(
+    final ChAddressRedelivery redelivery,
+    final AddressSettings settings)
+  {
+    redelivery.redeliveryDelay()
+      .ifPresent(settings::setRedeliveryDelay);
+    redelivery.redeliveryMultiplier()
+      .ifPresent(settings::setRedeliveryMultiplier);
+    redelivery.maxRedeliveryDelay()
+      .ifPresent(settings::setMaxRedeliveryDelay);
+    redelivery.maxDeliveryAttempts()
+      .ifPresent(settings::setMaxDeliveryAttempts);
+  }
+
+  private static void configureAddressPaging(
+    final ChAddressPaging paging,
+    final AddressSettings settings)
+  {
+    paging.pageSizeBytes()
+      .ifPresent(settings::setPageSizeBytes);
+    paging.maxReadPageMessages()
+      .ifPresent(settings::setMaxReadPageMessages);
+    paging.maxReadPageBytes()
+      .ifPresent(settings::setMaxReadPageBytes);
+    paging.prefetchPageMessages()
+      .ifPresent(settings::setPrefetchPageMessages);
+    paging.prefetchPageBytes()
+      .ifPresent(settings::setPrefetchPageBytes);
+  }
+
+  private static void configureAddressLimits(
+    final ChAddressLimits limits,
+    final AddressSettings settings)
+  {
+    limits.maxSizeBytes()
+      .ifPresent(settings::setMaxSizeBytes);
+    limits.maxSizeMessages()
+      .ifPresent(settings::setMaxSizeMessages);
+    limits.addressFullPolicy()
+      .ifPresent(settings::setAddressFullMessagePolicy);
   }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Parameters for the graceful shutdown of the server. Parameters that are
+ * not present take the defaults.
+ *
+ * @param drainTimeout The maximum time in milliseconds to wait for clients
+ *                     to disconnect before connections are closed forcibly
+ */
+
+public record ChShutdown(
+  OptionalLong drainTimeout)
+{
+  /**
+   * The default drain timeout in milliseconds.
+   */
+
+  public static final long DEFAULT_DRAIN_TIMEOUT = 30_000L;
+
+  /**
+   * Parameters for the graceful shutdown of the server. Parameters that are
+   * not present take the defaults.
+   *
+   * @param drainTimeout The maximum time in milliseconds to wait for clients
+   *                     to disconnect before connections are closed forcibly
+   */
+
+  public ChShutdown
+  {
+    Objects.requireNonNull(drainTimeout, "drainTimeout");
+  }
+
+  /**
+   * @return A set of parameters that are all defaults
+   */
+
+  public static ChShutdown defaults()
+  {
+    return new ChShutdown(OptionalLong.empty());
+  }
+
+  /**
+   * @return The drain timeout in milliseconds
+   */
+
+  public long drainTimeoutOrDefault()
+  {
+    return this.drainTimeout.orElse(DEFAULT_DRAIN_TIMEOUT);
+  }
+}
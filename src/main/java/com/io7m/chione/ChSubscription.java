@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A subscription queue declared on a multicast address. Every message sent
+ * to the address that matches the filter is routed to the queue.
+ *
+ * @param name         The queue name
+ * @param filter       The filter expression that messages must match
+ * @param queueOptions The options applied to the queue
+ */
+
+public record ChSubscription(
+  String name,
+  Optional<String> filter,
+  ChQueueOptions queueOptions)
+{
+  /**
+   * A subscription queue declared on a multicast address. Every message sent
+   * to the address that matches the filter is routed to the queue.
+   *
+   * @param name         The queue name
+   * @param filter       The filter expression that messages must match
+   * @param queueOptions The options applied to the queue
+   */
+
+  public ChSubscription
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(filter, "filter");
+    Objects.requireNonNull(queueOptions, "queueOptions");
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Broker thread pool parameters. Parameters that are not present take the
+ * Artemis defaults.
+ *
+ * @param threadPoolMaxSize          The maximum size of the general purpose
+ *                                   thread pool
+ * @param scheduledThreadPoolMaxSize The maximum size of the scheduled thread
+ *                                   pool
+ * @param virtualThreads             Whether the general purpose executor
+ *                                   should use virtual threads (experimental)
+ */
+
+public record ChThreadPools(
+  OptionalInt threadPoolMaxSize,
+  OptionalInt scheduledThreadPoolMaxSize,
+  Optional<Boolean> virtualThreads)
+{
+  /**
+   * Broker thread pool parameters. Parameters that are not present take the
+   * Artemis defaults.
+   *
+   * @param threadPoolMaxSize          The maximum size of the general purpose
+   *                                   thread pool
+   * @param scheduledThreadPoolMaxSize The maximum size of the scheduled thread
+   *                                   pool
+   * @param virtualThreads             Whether the general purpose executor
+   *                                   should use virtual threads (experimental)
+   */
+
+  public ChThreadPools
+  {
+    Objects.requireNonNull(threadPoolMaxSize, "threadPoolMaxSize");
+    Objects.requireNonNull(
+      scheduledThreadPoolMaxSize, "scheduledThreadPoolMaxSize");
+    Objects.requireNonNull(virtualThreads, "virtualThreads");
+  }
+
+  /**
+   * @return A set of parameters that are all Artemis defaults
+   */
+
+  public static ChThreadPools defaults()
+  {
+    return new ChThreadPools(
+      OptionalInt.empty(),
+      OptionalInt.empty(),
+      Optional.empty()
+    );
+  }
+
+  /**
+   * @return {@code true} if the general purpose executor should use virtual
+   * threads
+   */
+
+  public boolean useVirtualThreads()
+  {
+    return this.virtualThreads.orElse(Boolean.FALSE).booleanValue();
+  }
+}
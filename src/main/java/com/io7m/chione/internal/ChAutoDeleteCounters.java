@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.security.SecurityAuth;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerAddressPlugin;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerQueuePlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A broker plugin that counts the auto-created addresses and queues that
+ * are removed from the broker, and periodically reports them. A queue is
+ * only counted if it met the conditions for automatic deletion when it was
+ * destroyed: it had no consumers, and held no more messages than its
+ * auto-delete message count.
+ */
+
+public final class ChAutoDeleteCounters
+  implements ActiveMQServerAddressPlugin, ActiveMQServerQueuePlugin
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChAutoDeleteCounters.class);
+
+  private final LongAdder queuesDeleted;
+  private final LongAdder addressesDeleted;
+  private final AtomicLong queuesReported;
+  private final AtomicLong addressesReported;
+  private final Set<SimpleString> queuesDeletable;
+
+  /**
+   * A broker plugin that counts the auto-created addresses and queues that
+   * are removed from the broker.
+   */
+
+  public ChAutoDeleteCounters()
+  {
+    this.queuesDeleted = new LongAdder();
+    this.addressesDeleted = new LongAdder();
+    this.queuesReported = new AtomicLong();
+    this.addressesReported = new AtomicLong();
+    this.queuesDeletable = ConcurrentHashMap.newKeySet();
+  }
+
+  /*
+   * The queue's messages are removed as it is destroyed, so whether the
+   * queue was eligible for automatic deletion must be decided beforehand.
+   */
+
+  @Override
+  public void beforeDestroyQueue(
+    final Queue queue,
+    final SecurityAuth session,
+    final boolean checkConsumerCount,
+    final boolean removeConsumers,
+    final boolean autoDeleteAddress)
+  {
+    if (isAutoDeletable(queue)) {
+      this.queuesDeletable.add(queue.getName());
+    }
+  }
+
+  private static boolean isAutoDeletable(
+    final Queue queue)
+  {
+    if (!queue.isAutoCreated() || !queue.isAutoDelete()) {
+      return false;
+    }
+    if (queue.getConsumerCount() != 0) {
+      return false;
+    }
+
+    final var messageLimit = queue.getAutoDeleteMessageCount();
+    return messageLimit == -1L || queue.getMessageCount() <= messageLimit;
+  }
+
+  @Override
+  public void afterDestroyQueue(
+    final Queue queue,
+    final SimpleString address,
+    final SecurityAuth session,
+    final boolean checkConsumerCount,
+    final boolean removeConsumers,
+    final boolean autoDeleteAddress)
+  {
+    if (this.queuesDeletable.remove(queue.getName())) {
+      this.queuesDeleted.increment();
+    }
+  }
+
+  @Override
+  public void afterRemoveAddress(
+    final SimpleString address,
+    final AddressInfo addressInfo)
+  {
+    if (addressInfo != null && addressInfo.isAutoCreated()) {
+      this.addressesDeleted.increment();
+    }
+  }
+
+  /**
+   * Log the number of addresses and queues deleted since the last report,
+   * if any were deleted.
+   */
+
+  public void report()
+  {
+    final var queues =
+      this.queuesDeleted();
+    final var addresses =
+      this.addressesDeleted();
+    final var queuesNew =
+      queues - this.queuesReported.getAndSet(queues);
+    final var addressesNew =
+      addresses - this.addressesReported.getAndSet(addresses);
+
+    if (queuesNew > 0L || addressesNew > 0L) {
+      LOG.info(
+        "Auto-deletion: reclaimed {} queues and {} addresses ({} and {} total)",
+        Long.valueOf(queuesNew),
+        Long.valueOf(addressesNew),
+        Long.valueOf(queues),
+        Long.valueOf(addresses)
+      );
+    }
+  }
+
+  /**
+   * @return The number of auto-created queues deleted while eligible for
+   * automatic deletion
+   */
+
+  public long queuesDeleted()
+  {
+    return this.queuesDeleted.sum();
+  }
+
+  /**
+   * @return The number of auto-created addresses deleted
+   */
+
+  public long addressesDeleted()
+  {
+    return this.addressesDeleted.sum();
+  }
+}
@@ -18,21 +18,77 @@
 package com.io7m.chione.internal;
 
 import com.io7m.anethum.common.ParseStatus;
+import com.io7m.chione.ChAcceptor;
+import com.io7m.chione.ChAcceptorProtocol;
+import com.io7m.chione.ChAcceptorTransport;
 import com.io7m.chione.ChAddressAnycast;
+import com.io7m.chione.ChAddressAutoDelete;
+import com.io7m.chione.ChAddressExpiry;
+import com.io7m.chione.ChAddressLimits;
 import com.io7m.chione.ChAddressMulticast;
+import com.io7m.chione.ChAddressPaging;
+import com.io7m.chione.ChAddressRedelivery;
 import com.io7m.chione.ChAddressRoleGrants;
+import com.io7m.chione.ChAddressSettings;
+import com.io7m.chione.ChAddressSlowConsumers;
 import com.io7m.chione.ChAddressType;
+import com.io7m.chione.ChAutoDeletion;
+import com.io7m.chione.ChCluster;
+import com.io7m.chione.ChConnector;
+import com.io7m.chione.ChDirectories;
+import com.io7m.chione.ChExpiryScan;
+import com.io7m.chione.ChFederation;
+import com.io7m.chione.ChFederationAddressPolicy;
+import com.io7m.chione.ChFederationQueuePolicy;
+import com.io7m.chione.ChFederationUpstream;
+import com.io7m.chione.ChJournal;
+import com.io7m.chione.ChLargeMessages;
+import com.io7m.chione.ChMetrics;
+import com.io7m.chione.ChQueueOptions;
+import com.io7m.chione.ChResourceLimits;
 import com.io7m.chione.ChRoleGrants;
 import com.io7m.chione.ChServerConfiguration;
+import com.io7m.chione.ChShutdown;
+import com.io7m.chione.ChSubscription;
+import com.io7m.chione.ChThreadPools;
 import com.io7m.chione.ChUser;
 import com.io7m.chione.internal.jaxb.AccessControl;
+import com.io7m.chione.internal.jaxb.Acceptor;
+import com.io7m.chione.internal.jaxb.Acceptors;
 import com.io7m.chione.internal.jaxb.AddressAnycastType;
+import com.io7m.chione.internal.jaxb.AddressFullPolicyType;
 import com.io7m.chione.internal.jaxb.AddressMulticastType;
+import com.io7m.chione.internal.jaxb.AddressSettings;
 import com.io7m.chione.internal.jaxb.Addresses;
+import com.io7m.chione.internal.jaxb.AutoDelete;
+import com.io7m.chione.internal.jaxb.AutoDeletion;
+import com.io7m.chione.internal.jaxb.Cluster;
 import com.io7m.chione.internal.jaxb.Configuration;
+import com.io7m.chione.internal.jaxb.Connectors;
+import com.io7m.chione.internal.jaxb.Directories;
+import com.io7m.chione.internal.jaxb.Expiry;
+import com.io7m.chione.internal.jaxb.ExpiryScan;
+import com.io7m.chione.internal.jaxb.Federation;
+import com.io7m.chione.internal.jaxb.Journal;
+import com.io7m.chione.internal.jaxb.LargeMessages;
+import com.io7m.chione.internal.jaxb.Limits;
+import com.io7m.chione.internal.jaxb.Metrics;
+import com.io7m.chione.internal.jaxb.Paging;
 import com.io7m.chione.internal.jaxb.PermissionType;
+import com.io7m.chione.internal.jaxb.PolicyReference;
+import com.io7m.chione.internal.jaxb.Protocol;
+import com.io7m.chione.internal.jaxb.ProtocolType;
+import com.io7m.chione.internal.jaxb.QueueOptions;
+import com.io7m.chione.internal.jaxb.Redelivery;
+import com.io7m.chione.internal.jaxb.ResourceLimits;
 import com.io7m.chione.internal.jaxb.RoleReference;
 import com.io7m.chione.internal.jaxb.Roles;
+import com.io7m.chione.internal.jaxb.Shutdown;
+import com.io7m.chione.internal.jaxb.SlowConsumerPolicyType;
+import com.io7m.chione.internal.jaxb.SlowConsumers;
+import com.io7m.chione.internal.jaxb.StaticConnector;
+import com.io7m.chione.internal.jaxb.Subscription;
+import com.io7m.chione.internal.jaxb.ThreadPools;
 import com.io7m.chione.internal.jaxb.Users;
 import com.io7m.chione.passwords.ChPassword;
 import com.io7m.chione.passwords.ChPasswordAlgorithms;
@@ -40,21 +96,31 @@ import com.io7m.chione.passwords.ChPasswordException;
 import com.io7m.jlexing.core.LexicalPosition;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.ValidationEventLocator;
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.security.CheckType;
+import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.SlowConsumerPolicy;
 
 import javax.xml.XMLConstants;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.validation.SchemaFactory;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystem;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -76,6 +142,7 @@ public final class ChConfigurationParser
   private final InputStream stream;
   private final Consumer<ParseStatus> statusConsumer;
   private final ArrayList<ParseStatus> statusValues;
+  private ChElementPositions positions;
   private boolean failed;
 
   /**
@@ -103,6 +170,8 @@ public final class ChConfigurationParser
       Objects.requireNonNull(inStatusConsumer, "statusConsumer");
     this.statusValues =
       new ArrayList<ParseStatus>();
+    this.positions =
+      new ChElementPositions(this.source);
   }
 
   /**
@@ -118,6 +187,7 @@ public final class ChConfigurationParser
   {
     this.failed = false;
     this.statusValues.clear();
+    this.positions = new ChElementPositions(this.source);
 
     final var schemas =
       SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
@@ -156,10 +226,18 @@ public final class ChConfigurationParser
 
     unmarshaller.setSchema(schema);
 
-    final var streamSource =
-      new StreamSource(this.stream, this.source.toString());
+    final var parsers = SAXParserFactory.newInstance();
+    parsers.setNamespaceAware(true);
 
-    final var raw = (Configuration) unmarshaller.unmarshal(streamSource);
+    unmarshaller.setListener(this.positions);
+
+    final var raw =
+      (Configuration) unmarshaller.unmarshal(
+        this.positions.source(
+          parsers.newSAXParser().getXMLReader(),
+          this.stream
+        )
+      );
     if (this.failed) {
       throw new ChInternalParseException();
     }
@@ -168,8 +246,12 @@ public final class ChConfigurationParser
 
   private ChServerConfiguration processConfiguration(
     final Configuration configuration)
-    throws ChPasswordException
+    throws ChPasswordException, ChInternalParseException
   {
+    final var dataDirectory =
+      this.fileSystem.getPath(configuration.getDataDirectory());
+    final var directories =
+      processDirectories(dataDirectory, configuration.getDirectories());
     final var addresses =
       processAddresses(configuration.getAddresses());
     final var users =
@@ -178,17 +260,691 @@ public final class ChConfigurationParser
       processRoles(configuration.getRoles());
     final var accessControl =
       processAccessControl(configuration.getAccessControl());
+    final var acceptors =
+      processAcceptors(configuration.getAcceptors());
+    final var addressSettings =
+      processAddressSettings(configuration.getAddressSettings());
+    final var resourceLimits =
+      processResourceLimits(configuration.getResourceLimits());
+    final var largeMessages =
+      processLargeMessages(configuration.getLargeMessages());
+    final var threadPools =
+      processThreadPools(configuration.getThreadPools());
+    final var metrics =
+      processMetrics(configuration.getMetrics());
+    final var connectors =
+      processConnectors(configuration.getConnectors());
+    final var cluster =
+      processCluster(configuration.getCluster());
+    final var federation =
+      processFederation(configuration.getFederation());
+    final var autoDeletion =
+      processAutoDeletion(configuration.getAutoDeletion());
+    final var expiryScan =
+      processExpiryScan(configuration.getExpiryScan());
+    final var shutdown =
+      processShutdown(configuration.getShutdown());
+    final var journal =
+      processJournal(configuration.getJournal());
+
+    if (cluster.isPresent()) {
+      final var clusterUser = cluster.get().user();
+      if (users.containsKey(clusterUser)) {
+        throw this.publishError(
+          "error-cluster-user",
+          this.positions.positionOf(configuration.getCluster()),
+          "The cluster user '%s' must not be an ordinary user."
+            .formatted(clusterUser)
+        );
+      }
+    }
+
+    this.checkQueueNamesUnique(configuration.getAddresses());
+    this.checkSubscriptionFilters(configuration.getAddresses());
+    this.checkExpiryDelays(configuration.getAddressSettings());
 
     return new ChServerConfiguration(
       configuration.getName(),
-      this.fileSystem.getPath(configuration.getDataDirectory()),
+      dataDirectory,
+      directories,
       addresses,
       roles,
       users,
-      accessControl
+      accessControl,
+      acceptors,
+      addressSettings,
+      resourceLimits,
+      largeMessages,
+      threadPools,
+      metrics,
+      connectors,
+      cluster,
+      federation,
+      autoDeletion,
+      expiryScan,
+      shutdown,
+      journal
+    );
+  }
+
+  private void checkExpiryDelays(
+    final AddressSettings addressSettings)
+    throws ChInternalParseException
+  {
+    if (addressSettings == null) {
+      return;
+    }
+
+    for (final var setting : addressSettings.getAddressSetting()) {
+      if (setting.getExpiry() == null) {
+        continue;
+      }
+
+      final var expiry = processAddressExpiry(setting.getExpiry());
+      final var minDelay = expiry.minDelay();
+      final var maxDelay = expiry.maxDelay();
+      if (minDelay.isEmpty() || maxDelay.isEmpty()) {
+        continue;
+      }
+
+      if (minDelay.getAsLong() > maxDelay.getAsLong()) {
+        throw this.publishError(
+          "error-expiry-delays",
+          this.positions.positionOf(setting.getExpiry()),
+          "The minimum expiry delay for '%s' exceeds the maximum expiry delay."
+            .formatted(setting.getMatch())
+        );
+      }
+    }
+  }
+
+  private void checkQueueNamesUnique(
+    final Addresses addresses)
+    throws ChInternalParseException
+  {
+    final var queueNames = new HashMap<String, String>();
+    for (final var address : addresses.getAddressMulticastOrAddressAnycast()) {
+      final var names = new ArrayList<String>();
+      if (address instanceof AddressMulticastType multicast) {
+        for (final var subscription : multicast.getSubscription()) {
+          names.add(subscription.getName());
+        }
+      } else if (address instanceof AddressAnycastType anycast) {
+        names.addAll(processAddressAnycast(anycast).queueNames());
+      } else {
+        throw new IllegalStateException();
+      }
+
+      for (final var name : names) {
+        final var existing = queueNames.putIfAbsent(name, address.getName());
+        if (existing != null) {
+          throw this.publishError(
+            "error-queue-name-duplicate",
+            this.positions.positionOf(address),
+            "The queue '%s' on address '%s' is already declared on '%s'."
+              .formatted(name, address.getName(), existing)
+          );
+        }
+      }
+    }
+  }
+
+  private void checkSubscriptionFilters(
+    final Addresses addresses)
+    throws ChInternalParseException
+  {
+    for (final var address : addresses.getAddressMulticastOrAddressAnycast()) {
+      if (address instanceof AddressMulticastType multicast) {
+        for (final var subscription : multicast.getSubscription()) {
+          final var filter = subscription.getFilter();
+          if (filter == null) {
+            continue;
+          }
+
+          try {
+            FilterImpl.createFilter(filter);
+          } catch (final ActiveMQException e) {
+            throw this.publishError(
+              "error-subscription-filter",
+              this.positions.positionOf(subscription),
+              "The filter for subscription '%s' is invalid: %s"
+                .formatted(subscription.getName(), e.getMessage())
+            );
+          }
+        }
+      }
+    }
+  }
+
+  private static ChDirectories processDirectories(
+    final Path dataDirectory,
+    final Directories directories)
+  {
+    final var defaults = ChDirectories.defaultsFor(dataDirectory);
+    if (directories == null) {
+      return defaults;
+    }
+
+    return new ChDirectories(
+      resolveDirectory(
+        dataDirectory, directories.getJournal(), defaults.journal()),
+      resolveDirectory(
+        dataDirectory, directories.getBindings(), defaults.bindings()),
+      resolveDirectory(
+        dataDirectory, directories.getPaging(), defaults.paging()),
+      resolveDirectory(
+        dataDirectory, directories.getLargeMessages(), defaults.largeMessages())
+    );
+  }
+
+  private static Path resolveDirectory(
+    final Path dataDirectory,
+    final String path,
+    final Path defaultPath)
+  {
+    if (path == null) {
+      return defaultPath;
+    }
+    return dataDirectory.resolve(path);
+  }
+
+  private static Map<String, ChConnector> processConnectors(
+    final Connectors connectors)
+  {
+    if (connectors == null) {
+      return Map.of();
+    }
+
+    final var results = new HashMap<String, ChConnector>();
+    for (final var connector : connectors.getConnector()) {
+      results.put(
+        connector.getName(),
+        new ChConnector(
+          connector.getName(),
+          connector.getAddress(),
+          connector.getPort()
+        )
+      );
+    }
+    return Map.copyOf(results);
+  }
+
+  private static Optional<ChCluster> processCluster(
+    final Cluster cluster)
+  {
+    if (cluster == null) {
+      return Optional.empty();
+    }
+
+    final var staticConnectors =
+      cluster.getStaticConnector()
+        .stream()
+        .map(StaticConnector::getConnector)
+        .toList();
+
+    return Optional.of(
+      new ChCluster(
+        cluster.getName(),
+        cluster.getLocalConnector(),
+        staticConnectors,
+        messageLoadBalancingOf(cluster.getMessageLoadBalancing()),
+        cluster.getUser(),
+        cluster.getPassword(),
+        optionalInt(cluster.getMaxHops()),
+        optionalLong(cluster.getRedistributionDelay())
+      )
+    );
+  }
+
+  private static Optional<ChFederation> processFederation(
+    final Federation federation)
+  {
+    if (federation == null) {
+      return Optional.empty();
+    }
+
+    final var addressPolicies =
+      new HashMap<String, ChFederationAddressPolicy>();
+    for (final var policy : federation.getAddressPolicy()) {
+      addressPolicies.put(
+        policy.getName(),
+        new ChFederationAddressPolicy(
+          policy.getName(),
+          policy.getAddressMatch(),
+          optionalInt(policy.getMaxHops())
+        )
+      );
+    }
+
+    final var queuePolicies =
+      new HashMap<String, ChFederationQueuePolicy>();
+    for (final var policy : federation.getQueuePolicy()) {
+      queuePolicies.put(
+        policy.getName(),
+        new ChFederationQueuePolicy(
+          policy.getName(),
+          policy.getQueueMatch(),
+          Optional.ofNullable(policy.getAddressMatch()),
+          Optional.ofNullable(policy.isIncludeFederated())
+        )
+      );
+    }
+
+    final var upstreams =
+      new HashMap<String, ChFederationUpstream>();
+    for (final var upstream : federation.getUpstream()) {
+      final var policies =
+        upstream.getPolicyReference()
+          .stream()
+          .map(PolicyReference::getName)
+          .collect(Collectors.toUnmodifiableSet());
+
+      upstreams.put(
+        upstream.getName(),
+        new ChFederationUpstream(
+          upstream.getName(),
+          upstream.getConnector(),
+          policies
+        )
+      );
+    }
+
+    return Optional.of(
+      new ChFederation(
+        federation.getName(),
+        federation.getUser(),
+        federation.getPassword(),
+        Map.copyOf(addressPolicies),
+        Map.copyOf(queuePolicies),
+        Map.copyOf(upstreams)
+      )
+    );
+  }
+
+  private static MessageLoadBalancingType messageLoadBalancingOf(
+    final com.io7m.chione.internal.jaxb.MessageLoadBalancingType type)
+  {
+    return switch (type) {
+      case OFF -> MessageLoadBalancingType.OFF;
+      case STRICT -> MessageLoadBalancingType.STRICT;
+      case ON_DEMAND -> MessageLoadBalancingType.ON_DEMAND;
+      case OFF_WITH_REDISTRIBUTION ->
+        MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION;
+    };
+  }
+
+  private static Optional<ChMetrics> processMetrics(
+    final Metrics metrics)
+  {
+    if (metrics == null) {
+      return Optional.empty();
+    }
+
+    return Optional.of(
+      new ChMetrics(metrics.getAddress(), metrics.getPort())
+    );
+  }
+
+  private static ChThreadPools processThreadPools(
+    final ThreadPools threadPools)
+  {
+    if (threadPools == null) {
+      return ChThreadPools.defaults();
+    }
+
+    return new ChThreadPools(
+      optionalInt(threadPools.getThreadPoolMaxSize()),
+      optionalInt(threadPools.getScheduledThreadPoolMaxSize()),
+      Optional.ofNullable(threadPools.isVirtualThreads())
+    );
+  }
+
+  private static ChLargeMessages processLargeMessages(
+    final LargeMessages largeMessages)
+  {
+    if (largeMessages == null) {
+      return ChLargeMessages.defaults();
+    }
+
+    return new ChLargeMessages(
+      Optional.ofNullable(largeMessages.isSync())
+    );
+  }
+
+  private static ChResourceLimits processResourceLimits(
+    final ResourceLimits limits)
+  {
+    if (limits == null) {
+      return ChResourceLimits.defaults();
+    }
+
+    final var globalMaxSizeBytes =
+      Optional.ofNullable(limits.getGlobalMaxSizeBytes())
+        .map(x -> OptionalLong.of(x.getValue()))
+        .orElse(OptionalLong.empty());
+    final var globalMaxSizeHeapFraction =
+      Optional.ofNullable(limits.getGlobalMaxSizeHeapFraction())
+        .map(x -> OptionalDouble.of(x.getValue()))
+        .orElse(OptionalDouble.empty());
+
+    return new ChResourceLimits(
+      globalMaxSizeBytes,
+      globalMaxSizeHeapFraction,
+      optionalLong(limits.getGlobalMaxMessages()),
+      optionalInt(limits.getMaxDiskUsage()),
+      optionalLong(limits.getMinDiskFree()),
+      optionalInt(limits.getDiskScanPeriod())
+    );
+  }
+
+  private static Map<String, ChAddressSettings> processAddressSettings(
+    final AddressSettings addressSettings)
+  {
+    if (addressSettings == null) {
+      return Map.of();
+    }
+
+    final var results = new HashMap<String, ChAddressSettings>();
+    for (final var setting : addressSettings.getAddressSetting()) {
+      results.put(
+        setting.getMatch(),
+        new ChAddressSettings(
+          setting.getMatch(),
+          processAddressLimits(setting.getLimits()),
+          processAddressPaging(setting.getPaging()),
+          processAddressRedelivery(setting.getRedelivery()),
+          processAddressSlowConsumers(setting.getSlowConsumers()),
+          processAddressAutoDelete(setting.getAutoDelete()),
+          processAddressExpiry(setting.getExpiry())
+        )
+      );
+    }
+    return Map.copyOf(results);
+  }
+
+  private static ChAddressLimits processAddressLimits(
+    final Limits limits)
+  {
+    if (limits == null) {
+      return ChAddressLimits.defaults();
+    }
+
+    return new ChAddressLimits(
+      optionalLong(limits.getMaxSizeBytes()),
+      optionalLong(limits.getMaxSizeMessages()),
+      Optional.ofNullable(limits.getAddressFullPolicy())
+        .map(ChConfigurationParser::addressFullPolicyOf)
+    );
+  }
+
+  private static ChAddressPaging processAddressPaging(
+    final Paging paging)
+  {
+    if (paging == null) {
+      return ChAddressPaging.defaults();
+    }
+
+    return new ChAddressPaging(
+      optionalInt(paging.getPageSizeBytes()),
+      optionalInt(paging.getMaxReadPageMessages()),
+      optionalInt(paging.getMaxReadPageBytes()),
+      optionalInt(paging.getPrefetchPageMessages()),
+      optionalInt(paging.getPrefetchPageBytes())
+    );
+  }
+
+  private static ChAddressRedelivery processAddressRedelivery(
+    final Redelivery redelivery)
+  {
+    if (redelivery == null) {
+      return ChAddressRedelivery.defaults();
+    }
+
+    return new ChAddressRedelivery(
+      optionalLong(redelivery.getRedeliveryDelay()),
+      optionalDouble(redelivery.getRedeliveryMultiplier()),
+      optionalLong(redelivery.getMaxRedeliveryDelay()),
+      optionalInt(redelivery.getMaxDeliveryAttempts())
+    );
+  }
+
+  private static Map<String, ChSubscription> processSubscriptions(
+    final List<Subscription> subscriptions)
+  {
+    final var results = new HashMap<String, ChSubscription>();
+    for (final var subscription : subscriptions) {
+      results.put(
+        subscription.getName(),
+        new ChSubscription(
+          subscription.getName(),
+          Optional.ofNullable(subscription.getFilter()),
+          processQueueOptions(subscription.getQueueOptions())
+        )
+      );
+    }
+    return Map.copyOf(results);
+  }
+
+  private static ChQueueOptions processQueueOptions(
+    final QueueOptions options)
+  {
+    if (options == null) {
+      return ChQueueOptions.defaults();
+    }
+
+    return new ChQueueOptions(
+      Optional.ofNullable(options.isGroupRebalance()),
+      optionalInt(options.getGroupBuckets()),
+      Optional.ofNullable(options.getGroupFirstKey()),
+      Optional.ofNullable(options.getLastValueKey()),
+      Optional.ofNullable(options.isNonDestructive()),
+      optionalLong(options.getRingSize()),
+      Optional.ofNullable(options.isDurable())
+    );
+  }
+
+  private static ChAddressSlowConsumers processAddressSlowConsumers(
+    final SlowConsumers slowConsumers)
+  {
+    if (slowConsumers == null) {
+      return ChAddressSlowConsumers.defaults();
+    }
+
+    return new ChAddressSlowConsumers(
+      optionalLong(slowConsumers.getThreshold()),
+      optionalLong(slowConsumers.getCheckPeriod()),
+      Optional.ofNullable(slowConsumers.getPolicy())
+        .map(ChConfigurationParser::slowConsumerPolicyOf)
+    );
+  }
+
+  private static ChAddressAutoDelete processAddressAutoDelete(
+    final AutoDelete autoDelete)
+  {
+    if (autoDelete == null) {
+      return ChAddressAutoDelete.defaults();
+    }
+
+    return new ChAddressAutoDelete(
+      Optional.ofNullable(autoDelete.isQueues()),
+      optionalLong(autoDelete.getQueueDelay()),
+      optionalLong(autoDelete.getQueueMessageCount()),
+      Optional.ofNullable(autoDelete.isAddresses()),
+      optionalLong(autoDelete.getAddressDelay())
+    );
+  }
+
+  private static ChAddressExpiry processAddressExpiry(
+    final Expiry expiry)
+  {
+    if (expiry == null) {
+      return ChAddressExpiry.defaults();
+    }
+
+    return new ChAddressExpiry(
+      optionalLong(expiry.getDelay()),
+      optionalLong(expiry.getMinDelay()),
+      optionalLong(expiry.getMaxDelay())
+    );
+  }
+
+  private static ChJournal processJournal(
+    final Journal journal)
+  {
+    if (journal == null) {
+      return ChJournal.defaults();
+    }
+
+    return new ChJournal(
+      optionalInt(journal.getCompactMinFiles()),
+      optionalInt(journal.getCompactPercentage())
+    );
+  }
+
+  private static ChShutdown processShutdown(
+    final Shutdown shutdown)
+  {
+    if (shutdown == null) {
+      return ChShutdown.defaults();
+    }
+
+    return new ChShutdown(
+      optionalLong(shutdown.getDrainTimeout())
+    );
+  }
+
+  private static ChExpiryScan processExpiryScan(
+    final ExpiryScan expiryScan)
+  {
+    if (expiryScan == null) {
+      return ChExpiryScan.defaults();
+    }
+
+    return new ChExpiryScan(
+      optionalLong(expiryScan.getScanPeriod())
+    );
+  }
+
+  private static ChAutoDeletion processAutoDeletion(
+    final AutoDeletion autoDeletion)
+  {
+    if (autoDeletion == null) {
+      return ChAutoDeletion.defaults();
+    }
+
+    return new ChAutoDeletion(
+      optionalLong(autoDeletion.getScanPeriod()),
+      optionalLong(autoDeletion.getReportPeriod())
+    );
+  }
+
+  private static SlowConsumerPolicy slowConsumerPolicyOf(
+    final SlowConsumerPolicyType type)
+  {
+    return switch (type) {
+      case NOTIFY -> SlowConsumerPolicy.NOTIFY;
+      case KILL -> SlowConsumerPolicy.KILL;
+    };
+  }
+
+  private static AddressFullMessagePolicy addressFullPolicyOf(
+    final AddressFullPolicyType type)
+  {
+    return switch (type) {
+      case PAGE -> AddressFullMessagePolicy.PAGE;
+      case BLOCK -> AddressFullMessagePolicy.BLOCK;
+      case FAIL -> AddressFullMessagePolicy.FAIL;
+      case DROP -> AddressFullMessagePolicy.DROP;
+    };
+  }
+
+  private static Map<String, ChAcceptor> processAcceptors(
+    final Acceptors acceptors)
+  {
+    if (acceptors == null) {
+      return Map.of(
+        "all",
+        new ChAcceptor(
+          "all",
+          "::",
+          61000,
+          Set.of(),
+          ChAcceptorTransport.defaults())
+      );
+    }
+
+    final var results = new HashMap<String, ChAcceptor>();
+    for (final var acceptor : acceptors.getAcceptor()) {
+      final var protocols =
+        acceptor.getProtocol()
+          .stream()
+          .map(Protocol::getName)
+          .map(ChConfigurationParser::protocolOf)
+          .collect(Collectors.toUnmodifiableSet());
+
+      results.put(
+        acceptor.getName(),
+        new ChAcceptor(
+          acceptor.getName(),
+          acceptor.getAddress(),
+          acceptor.getPort(),
+          protocols,
+          processAcceptorTransport(acceptor)
+        )
+      );
+    }
+    return Map.copyOf(results);
+  }
+
+  private static ChAcceptorTransport processAcceptorTransport(
+    final Acceptor acceptor)
+  {
+    return new ChAcceptorTransport(
+      optionalInt(acceptor.getTcpSendBufferSize()),
+      optionalInt(acceptor.getTcpReceiveBufferSize()),
+      Optional.ofNullable(acceptor.isTcpNoDelay()),
+      optionalLong(acceptor.getBatchDelay()),
+      Optional.ofNullable(acceptor.isDirectDeliver()),
+      optionalInt(acceptor.getRemotingThreads()),
+      Optional.ofNullable(acceptor.isUseEpoll())
     );
   }
 
+  private static OptionalInt optionalInt(
+    final Integer value)
+  {
+    if (value == null) {
+      return OptionalInt.empty();
+    }
+    return OptionalInt.of(value.intValue());
+  }
+
+  private static OptionalLong optionalLong(
+    final Long value)
+  {
+    if (value == null) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(value.longValue());
+  }
+
+  private static OptionalDouble optionalDouble(
+    final Double value)
+  {
+    if (value == null) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(value.doubleValue());
+  }
+
+  private static ChAcceptorProtocol protocolOf(
+    final ProtocolType type)
+  {
+    return switch (type) {
+      case CORE -> ChAcceptorProtocol.CORE;
+    };
+  }
+
   private static final class RoleContext
   {
     private final HashMap<String, HashMap<String, HashSet<CheckType>>> data;
@@ -339,11 +1095,11 @@ public final class ChConfigurationParser
     final var results = new HashSet<ChAddressType>();
     for (final var address : addresses.getAddressMulticastOrAddressAnycast()) {
       if (address instanceof AddressMulticastType multicast) {
-        results.add(new ChAddressMulticast(multicast.getName()));
+        results.add(new ChAddressMulticast(
+          multicast.getName(),
+          processSubscriptions(multicast.getSubscription())));
       } else if (address instanceof AddressAnycastType anycast) {
-        results.add(new ChAddressAnycast(
-          anycast.getName(),
-          anycast.getQueueName()));
+        results.add(processAddressAnycast(anycast));
       } else {
         throw new IllegalStateException();
       }
@@ -351,6 +1107,18 @@ public final class ChConfigurationParser
     return Set.copyOf(results);
   }
 
+  private static ChAddressAnycast processAddressAnycast(
+    final AddressAnycastType anycast)
+  {
+    return new ChAddressAnycast(
+      anycast.getName(),
+      anycast.getQueueName(),
+      optionalInt(anycast.getPartitions()).orElse(1),
+      Optional.ofNullable(anycast.getPartitionKey()),
+      processQueueOptions(anycast.getQueueOptions())
+    );
+  }
+
   private void publishError(
     final ParseStatus status)
   {
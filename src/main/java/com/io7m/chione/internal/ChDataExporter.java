@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.server.LargeServerMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterOutputStream;
+
+import static com.io7m.chione.internal.ChDataFormat.MAGIC;
+import static com.io7m.chione.internal.ChDataFormat.TAG_END;
+import static com.io7m.chione.internal.ChDataFormat.TAG_MESSAGE;
+import static com.io7m.chione.internal.ChDataFormat.TAG_QUEUE;
+import static com.io7m.chione.internal.ChDataFormat.VERSION;
+
+/**
+ * An exporter of the durable queues, and the messages within them, of a
+ * maintenance server. Messages are browsed rather than consumed, and so
+ * the data directory is not modified by an export. Browsers cannot see
+ * scheduled messages, including those waiting for a redelivery delay, so
+ * these are read from the queues directly and exported along with their
+ * scheduled delivery times.
+ */
+
+public final class ChDataExporter
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChDataExporter.class);
+
+  private final ChMaintenanceServer server;
+
+  /**
+   * An exporter of the durable queues of a maintenance server.
+   *
+   * @param inServer The started maintenance server
+   */
+
+  public ChDataExporter(
+    final ChMaintenanceServer inServer)
+  {
+    this.server = Objects.requireNonNull(inServer, "server");
+  }
+
+  /**
+   * Export data to the given stream. The stream is closed on completion.
+   *
+   * @param stream The output stream
+   *
+   * @return The number of queues and messages exported
+   *
+   * @throws Exception On errors
+   */
+
+  public ChDataTransferStatistics exportData(
+    final OutputStream stream)
+    throws Exception
+  {
+    Objects.requireNonNull(stream, "stream");
+
+    final List<Queue> queues =
+      this.server.server()
+        .getPostOffice()
+        .getAllBindings()
+        .filter(LocalQueueBinding.class::isInstance)
+        .map(b -> ((LocalQueueBinding) b).getQueue())
+        .filter(q -> q.isDurable() && !q.isTemporary())
+        .filter(q -> !q.isInternalQueue())
+        .sorted(Comparator.comparing(q -> q.getName().toString()))
+        .toList();
+
+    var messages = 0L;
+    try (var output =
+           new DataOutputStream(
+             new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+
+      try (var session = this.server.sessions().createSession()) {
+        session.start();
+
+        for (final var queue : queues) {
+          writeQueue(output, queue);
+
+          /*
+           * A scheduled message that becomes due while the queue is being
+           * browsed may be seen by the browser, and must then not be
+           * exported a second time.
+           */
+
+          final var scheduled = scheduledMessages(queue);
+          final var count =
+            writeMessages(output, session, queue, scheduled);
+          final var countScheduled =
+            writeScheduledMessages(output, scheduled.values());
+
+          LOG.info(
+            "Exported {} messages ({} scheduled) from queue {}",
+            Long.valueOf(count + countScheduled),
+            Long.valueOf(countScheduled),
+            queue.getName()
+          );
+          messages += count + countScheduled;
+        }
+      }
+
+      output.writeByte(TAG_END);
+    }
+
+    return new ChDataTransferStatistics(queues.size(), messages);
+  }
+
+  private static void writeQueue(
+    final DataOutputStream output,
+    final Queue queue)
+    throws Exception
+  {
+    output.writeByte(TAG_QUEUE);
+    ChDataFormat.writeString(output, queue.getAddress().toString());
+    ChDataFormat.writeString(output, queue.getName().toString());
+    ChDataFormat.writeString(output, queue.getRoutingType().name());
+
+    final var filter = queue.getFilter();
+    output.writeBoolean(filter != null);
+    if (filter != null) {
+      ChDataFormat.writeString(output, filter.getFilterString().toString());
+    }
+    output.writeBoolean(queue.isAutoCreated());
+  }
+
+  private static Map<Long, MessageReference> scheduledMessages(
+    final Queue queue)
+  {
+    final var results = new LinkedHashMap<Long, MessageReference>();
+    for (final var reference : queue.getScheduledMessages()) {
+      results.put(
+        Long.valueOf(reference.getMessage().getMessageID()),
+        reference
+      );
+    }
+    return results;
+  }
+
+  private static long writeMessages(
+    final DataOutputStream output,
+    final ClientSession session,
+    final Queue queue,
+    final Map<Long, MessageReference> scheduled)
+    throws Exception
+  {
+    var count = 0L;
+    try (var consumer =
+           session.createConsumer(queue.getName().toString(), true)) {
+      while (true) {
+        final var message = consumer.receiveImmediate();
+        if (message == null) {
+          break;
+        }
+
+        scheduled.remove(Long.valueOf(message.getMessageID()));
+        writeMessageHeader(output, message, Map.of());
+        try (var body = ChDataFormat.bodyOutput(output)) {
+          message.saveToOutputStream(body);
+        }
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private static long writeScheduledMessages(
+    final DataOutputStream output,
+    final Collection<MessageReference> scheduled)
+    throws Exception
+  {
+    var count = 0L;
+    for (final var reference : scheduled) {
+      final var message = reference.getMessage();
+      writeMessageHeader(
+        output,
+        message,
+        Map.of(
+          Message.HDR_SCHEDULED_DELIVERY_TIME,
+          Long.valueOf(reference.getScheduledDeliveryTime())
+        )
+      );
+      try (var body = ChDataFormat.bodyOutput(output)) {
+        if (message instanceof final LargeServerMessage large) {
+          writeLargeBody(large, body);
+        } else {
+          final var buffer = message.toCore().getReadOnlyBodyBuffer();
+          final var bytes = new byte[buffer.readableBytes()];
+          buffer.readBytes(bytes);
+          body.write(bytes);
+        }
+      }
+      ++count;
+    }
+    return count;
+  }
+
+  /*
+   * The body of a large message is stored as the client sent it, and so
+   * is compressed if the client compressed it. Browsed messages are
+   * decompressed by the client, so the body is decompressed here too.
+   */
+
+  private static void writeLargeBody(
+    final LargeServerMessage message,
+    final OutputStream body)
+    throws Exception
+  {
+    final var properties = message.toMessage();
+    final var compressed =
+      properties.containsProperty(Message.HDR_LARGE_COMPRESSED)
+        && properties.getBooleanProperty(Message.HDR_LARGE_COMPRESSED)
+        .booleanValue();
+
+    try (var target =
+           compressed ? new InflaterOutputStream(body) : body;
+         var reader = message.getLargeBodyReader()) {
+      reader.open();
+
+      final var buffer = ByteBuffer.allocate(ChDataFormat.CHUNK_SIZE);
+      final var size = reader.getSize();
+      while (reader.position() < size) {
+        buffer.clear();
+        final var read = reader.readInto(buffer);
+        if (read <= 0) {
+          break;
+        }
+        target.write(buffer.array(), 0, read);
+      }
+    }
+  }
+
+  private static void writeMessageHeader(
+    final DataOutputStream output,
+    final Message message,
+    final Map<SimpleString, Object> replacements)
+    throws Exception
+  {
+    output.writeByte(TAG_MESSAGE);
+    output.writeByte(message.getType());
+    output.writeBoolean(message.isDurable());
+    output.writeLong(message.getExpiration());
+    output.writeLong(message.getTimestamp());
+    output.writeByte(message.getPriority());
+    output.writeBoolean(message.isLargeMessage());
+
+    if (message.getUserID() instanceof final UUID id) {
+      output.writeBoolean(true);
+      output.write(id.asBytes());
+    } else {
+      output.writeBoolean(false);
+    }
+
+    ChDataFormat.writeProperties(output, message, replacements);
+  }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The format of exported broker data.
+ *
+ * <p>An export is a GZIP-compressed stream that begins with a magic number
+ * and a version, followed by a sequence of records, and ends with an end
+ * record. Each record begins with a tag byte. A queue record describes a
+ * queue, and is followed by message records for each message in the queue.
+ * Message bodies are written as a sequence of length-prefixed chunks that
+ * is terminated by an empty chunk, so that bodies of any size can be
+ * written and read without holding them in memory.</p>
+ *
+ * <p>A message that was scheduled for later delivery on the source broker
+ * carries its scheduled delivery time in the
+ * {@link Message#HDR_SCHEDULED_DELIVERY_TIME} property, so that it is
+ * scheduled again when it is imported.</p>
+ */
+
+final class ChDataFormat
+{
+  static final int MAGIC = 0x43484558;
+  static final int VERSION = 1;
+
+  static final byte TAG_END = 0;
+  static final byte TAG_QUEUE = 1;
+  static final byte TAG_MESSAGE = 2;
+
+  static final int CHUNK_SIZE = 65536;
+
+  /*
+   * Properties that describe how a message was stored or routed on the
+   * source broker, rather than the message itself.
+   */
+
+  private static final Set<SimpleString> EXCLUDED_PROPERTIES =
+    Set.of(
+      Message.HDR_LARGE_BODY_SIZE,
+      Message.HDR_LARGE_COMPRESSED,
+      Message.HDR_ROUTE_TO_IDS,
+      Message.HDR_ROUTE_TO_ACK_IDS
+    );
+
+  private static final byte PROPERTY_NULL = 0;
+  private static final byte PROPERTY_BOOLEAN = 1;
+  private static final byte PROPERTY_BYTE = 2;
+  private static final byte PROPERTY_SHORT = 3;
+  private static final byte PROPERTY_CHAR = 4;
+  private static final byte PROPERTY_INT = 5;
+  private static final byte PROPERTY_LONG = 6;
+  private static final byte PROPERTY_FLOAT = 7;
+  private static final byte PROPERTY_DOUBLE = 8;
+  private static final byte PROPERTY_STRING = 9;
+  private static final byte PROPERTY_BYTES = 10;
+
+  private ChDataFormat()
+  {
+
+  }
+
+  static void writeString(
+    final DataOutputStream output,
+    final String text)
+    throws IOException
+  {
+    writeBytes(output, text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static String readString(
+    final DataInputStream input)
+    throws IOException
+  {
+    return StandardCharsets.UTF_8
+      .decode(ByteBuffer.wrap(readBytes(input)))
+      .toString();
+  }
+
+  private static void writeBytes(
+    final DataOutputStream output,
+    final byte[] data)
+    throws IOException
+  {
+    output.writeInt(data.length);
+    output.write(data);
+  }
+
+  private static byte[] readBytes(
+    final DataInputStream input)
+    throws IOException
+  {
+    final var length = input.readInt();
+    if (length < 0) {
+      throw new IOException("Negative length %d".formatted(length));
+    }
+    return input.readNBytes(length);
+  }
+
+  static void writeProperties(
+    final DataOutputStream output,
+    final Message message)
+    throws IOException
+  {
+    writeProperties(output, message, Map.of());
+  }
+
+  static void writeProperties(
+    final DataOutputStream output,
+    final Message message,
+    final Map<SimpleString, Object> replacements)
+    throws IOException
+  {
+    final var names =
+      message.getPropertyNames()
+        .stream()
+        .filter(name -> !EXCLUDED_PROPERTIES.contains(name))
+        .filter(name -> !replacements.containsKey(name))
+        .toList();
+
+    output.writeInt(names.size() + replacements.size());
+    for (final var name : names) {
+      writeString(output, name.toString());
+      writeProperty(output, message.getObjectProperty(name));
+    }
+    for (final var entry : replacements.entrySet()) {
+      writeString(output, entry.getKey().toString());
+      writeProperty(output, entry.getValue());
+    }
+  }
+
+  static void readProperties(
+    final DataInputStream input,
+    final Message message)
+    throws IOException
+  {
+    final var count = input.readInt();
+    for (int index = 0; index < count; ++index) {
+      final var name = readString(input);
+      message.putObjectProperty(name, readProperty(input));
+    }
+  }
+
+  static void skipProperties(
+    final DataInputStream input)
+    throws IOException
+  {
+    final var count = input.readInt();
+    for (int index = 0; index < count; ++index) {
+      readString(input);
+      readProperty(input);
+    }
+  }
+
+  private static void writeProperty(
+    final DataOutputStream output,
+    final Object value)
+    throws IOException
+  {
+    if (value == null) {
+      output.writeByte(PROPERTY_NULL);
+    } else if (value instanceof final Boolean x) {
+      output.writeByte(PROPERTY_BOOLEAN);
+      output.writeBoolean(x.booleanValue());
+    } else if (value instanceof final Byte x) {
+      output.writeByte(PROPERTY_BYTE);
+      output.writeByte(x.byteValue());
+    } else if (value instanceof final Short x) {
+      output.writeByte(PROPERTY_SHORT);
+      output.writeShort(x.shortValue());
+    } else if (value instanceof final Character x) {
+      output.writeByte(PROPERTY_CHAR);
+      output.writeChar(x.charValue());
+    } else if (value instanceof final Integer x) {
+      output.writeByte(PROPERTY_INT);
+      output.writeInt(x.intValue());
+    } else if (value instanceof final Long x) {
+      output.writeByte(PROPERTY_LONG);
+      output.writeLong(x.longValue());
+    } else if (value instanceof final Float x) {
+      output.writeByte(PROPERTY_FLOAT);
+      output.writeFloat(x.floatValue());
+    } else if (value instanceof final Double x) {
+      output.writeByte(PROPERTY_DOUBLE);
+      output.writeDouble(x.doubleValue());
+    } else if (value instanceof final byte[] x) {
+      output.writeByte(PROPERTY_BYTES);
+      writeBytes(output, x);
+    } else {
+      output.writeByte(PROPERTY_STRING);
+      writeString(output, value.toString());
+    }
+  }
+
+  private static Object readProperty(
+    final DataInputStream input)
+    throws IOException
+  {
+    final var type = input.readByte();
+    return switch (type) {
+      case PROPERTY_NULL -> null;
+      case PROPERTY_BOOLEAN -> Boolean.valueOf(input.readBoolean());
+      case PROPERTY_BYTE -> Byte.valueOf(input.readByte());
+      case PROPERTY_SHORT -> Short.valueOf(input.readShort());
+      case PROPERTY_CHAR -> Character.valueOf(input.readChar());
+      case PROPERTY_INT -> Integer.valueOf(input.readInt());
+      case PROPERTY_LONG -> Long.valueOf(input.readLong());
+      case PROPERTY_FLOAT -> Float.valueOf(input.readFloat());
+      case PROPERTY_DOUBLE -> Double.valueOf(input.readDouble());
+      case PROPERTY_STRING -> readString(input);
+      case PROPERTY_BYTES -> readBytes(input);
+      default -> throw new IOException(
+        "Unrecognized property type %d".formatted(Byte.valueOf(type))
+      );
+    };
+  }
+
+  /**
+   * @param output The output stream
+   *
+   * @return A stream that writes a chunked body to the given output, and
+   * writes the terminating chunk when closed
+   */
+
+  static OutputStream bodyOutput(
+    final DataOutputStream output)
+  {
+    return new ChunkedOutputStream(output);
+  }
+
+  /**
+   * @param input The input stream
+   *
+   * @return A stream that reads a chunked body from the given input, up to
+   * and including the terminating chunk
+   */
+
+  static InputStream bodyInput(
+    final DataInputStream input)
+  {
+    return new ChunkedInputStream(input);
+  }
+
+  private static final class ChunkedOutputStream extends OutputStream
+  {
+    private final DataOutputStream output;
+    private final byte[] buffer;
+    private int position;
+    private boolean closed;
+
+    ChunkedOutputStream(
+      final DataOutputStream inOutput)
+    {
+      this.output = inOutput;
+      this.buffer = new byte[CHUNK_SIZE];
+      this.position = 0;
+      this.closed = false;
+    }
+
+    @Override
+    public void write(
+      final int b)
+      throws IOException
+    {
+      if (this.position == this.buffer.length) {
+        this.flushChunk();
+      }
+      this.buffer[this.position] = (byte) b;
+      ++this.position;
+    }
+
+    @Override
+    public void write(
+      final byte[] data,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      var remaining = length;
+      var index = offset;
+      while (remaining > 0) {
+        if (this.position == this.buffer.length) {
+          this.flushChunk();
+        }
+        final var count =
+          Math.min(remaining, this.buffer.length - this.position);
+        System.arraycopy(data, index, this.buffer, this.position, count);
+        this.position += count;
+        index += count;
+        remaining -= count;
+      }
+    }
+
+    private void flushChunk()
+      throws IOException
+    {
+      if (this.position > 0) {
+        this.output.writeInt(this.position);
+        this.output.write(this.buffer, 0, this.position);
+        this.position = 0;
+      }
+    }
+
+    /*
+     * Large message bodies close the stream to which they are saved, so
+     * the terminating chunk must be written only once.
+     */
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      if (!this.closed) {
+        this.closed = true;
+        this.flushChunk();
+        this.output.writeInt(0);
+      }
+    }
+  }
+
+  private static final class ChunkedInputStream extends InputStream
+  {
+    private final DataInputStream input;
+    private int remaining;
+    private boolean finished;
+
+    ChunkedInputStream(
+      final DataInputStream inInput)
+    {
+      this.input = inInput;
+      this.remaining = 0;
+      this.finished = false;
+    }
+
+    private boolean nextChunk()
+      throws IOException
+    {
+      while (this.remaining == 0 && !this.finished) {
+        this.remaining = this.input.readInt();
+        if (this.remaining < 0) {
+          throw new IOException(
+            "Negative chunk length %d".formatted(this.remaining)
+          );
+        }
+        if (this.remaining == 0) {
+          this.finished = true;
+        }
+      }
+      return !this.finished;
+    }
+
+    @Override
+    public int read()
+      throws IOException
+    {
+      if (!this.nextChunk()) {
+        return -1;
+      }
+      --this.remaining;
+      return this.input.readUnsignedByte();
+    }
+
+    @Override
+    public int read(
+      final byte[] data,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      if (length == 0) {
+        return 0;
+      }
+      if (!this.nextChunk()) {
+        return -1;
+      }
+      final var count = Math.min(length, this.remaining);
+      this.input.readFully(data, offset, count);
+      this.remaining -= count;
+      return count;
+    }
+
+    /**
+     * Skip the rest of the body, including the terminating chunk.
+     *
+     * @throws IOException On I/O errors
+     */
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      while (this.nextChunk()) {
+        this.input.skipNBytes(this.remaining);
+        this.remaining = 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.utils.CompositeAddress;
+import org.apache.activemq.artemis.utils.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+import static com.io7m.chione.internal.ChDataFormat.MAGIC;
+import static com.io7m.chione.internal.ChDataFormat.TAG_END;
+import static com.io7m.chione.internal.ChDataFormat.TAG_MESSAGE;
+import static com.io7m.chione.internal.ChDataFormat.TAG_QUEUE;
+import static com.io7m.chione.internal.ChDataFormat.VERSION;
+
+/**
+ * An importer of queues and messages into a maintenance server. Queues
+ * that do not exist are created. Each message is delivered to the queue
+ * from which it was exported, and only to that queue. Duplicate IDs are
+ * not preserved, and so importing the same data twice duplicates every
+ * message; {@link #findNonEmptyQueues(InputStream)} should be used to
+ * check that the target queues are empty before importing.
+ */
+
+public final class ChDataImporter
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChDataImporter.class);
+
+  /*
+   * Messages are sent in transactions of this many messages, so that sends
+   * do not each wait for the journal, and so that a failure is reported
+   * promptly.
+   */
+
+  private static final int TRANSACTION_SIZE = 1000;
+
+  private final ChMaintenanceServer server;
+
+  /**
+   * An importer of queues and messages into a maintenance server.
+   *
+   * @param inServer The started maintenance server
+   */
+
+  public ChDataImporter(
+    final ChMaintenanceServer inServer)
+  {
+    this.server = Objects.requireNonNull(inServer, "server");
+  }
+
+  /**
+   * Find the queues named in the given export that already exist on the
+   * server and contain messages. Messages are committed in batches as they
+   * are imported, so an import that fails leaves the messages committed so
+   * far in place, and repeating the import would then duplicate them. The
+   * stream is closed on completion.
+   *
+   * @param stream The input stream
+   *
+   * @return The names of the non-empty queues, in the order of the export
+   *
+   * @throws Exception On errors
+   */
+
+  public List<String> findNonEmptyQueues(
+    final InputStream stream)
+    throws Exception
+  {
+    Objects.requireNonNull(stream, "stream");
+
+    final var results = new ArrayList<String>();
+    try (var input = openInput(stream)) {
+      checkHeader(input);
+
+      while (true) {
+        final var tag = input.readByte();
+        if (tag == TAG_END) {
+          break;
+        }
+
+        switch (tag) {
+          case TAG_QUEUE -> {
+            final var name = readQueue(input).getName();
+            final var queue = this.server.server().locateQueue(name);
+            if (queue != null && queue.getMessageCount() > 0L) {
+              results.add(name.toString());
+            }
+          }
+          case TAG_MESSAGE -> {
+            skipMessage(input);
+          }
+          default -> {
+            throw unrecognizedRecord(tag);
+          }
+        }
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Import data from the given stream. The stream is closed on completion.
+   *
+   * @param stream The input stream
+   *
+   * @return The number of queues and messages imported
+   *
+   * @throws Exception On errors
+   */
+
+  public ChDataTransferStatistics importData(
+    final InputStream stream)
+    throws Exception
+  {
+    Objects.requireNonNull(stream, "stream");
+
+    var queues = 0;
+    var messages = 0L;
+
+    try (var input = openInput(stream)) {
+      checkHeader(input);
+
+      try (var session = this.server.sessions().createSession(false, true);
+           var producer = session.createProducer()) {
+        String queue = null;
+        String target = null;
+        var queueMessages = 0L;
+
+        while (true) {
+          final var tag = input.readByte();
+          if (tag == TAG_END) {
+            break;
+          }
+
+          switch (tag) {
+            case TAG_QUEUE -> {
+              session.commit();
+              logQueue(queue, queueMessages);
+
+              final var configuration = readQueue(input);
+              this.server.server().createQueue(configuration, true);
+              queue = configuration.getName().toString();
+              target = CompositeAddress.toFullyQualified(
+                configuration.getAddress().toString(),
+                queue
+              );
+              queueMessages = 0L;
+              ++queues;
+            }
+            case TAG_MESSAGE -> {
+              if (target == null) {
+                throw new IOException("Message record precedes any queue.");
+              }
+
+              readMessage(input, session, producer, target);
+              ++queueMessages;
+              ++messages;
+              if (messages % TRANSACTION_SIZE == 0L) {
+                session.commit();
+              }
+            }
+            default -> {
+              throw unrecognizedRecord(tag);
+            }
+          }
+        }
+
+        session.commit();
+        logQueue(queue, queueMessages);
+      }
+    }
+
+    return new ChDataTransferStatistics(queues, messages);
+  }
+
+  private static DataInputStream openInput(
+    final InputStream stream)
+    throws IOException
+  {
+    return new DataInputStream(
+      new BufferedInputStream(new GZIPInputStream(stream))
+    );
+  }
+
+  private static IOException unrecognizedRecord(
+    final byte tag)
+  {
+    return new IOException(
+      "Unrecognized record type %d".formatted(Byte.valueOf(tag))
+    );
+  }
+
+  private static void logQueue(
+    final String queue,
+    final long count)
+  {
+    if (queue != null) {
+      LOG.info(
+        "Imported {} messages into queue {}",
+        Long.valueOf(count),
+        queue
+      );
+    }
+  }
+
+  private static void checkHeader(
+    final DataInputStream input)
+    throws IOException
+  {
+    final var magic = input.readInt();
+    if (magic != MAGIC) {
+      throw new IOException(
+        "Unrecognized file type (magic number 0x%08x, expected 0x%08x)"
+          .formatted(Integer.valueOf(magic), Integer.valueOf(MAGIC))
+      );
+    }
+
+    final var version = input.readInt();
+    if (version != VERSION) {
+      throw new IOException(
+        "Unsupported format version %d (expected %d)"
+          .formatted(Integer.valueOf(version), Integer.valueOf(VERSION))
+      );
+    }
+  }
+
+  private static QueueConfiguration readQueue(
+    final DataInputStream input)
+    throws IOException
+  {
+    final var address = ChDataFormat.readString(input);
+    final var name = ChDataFormat.readString(input);
+    final var routingType = RoutingType.valueOf(ChDataFormat.readString(input));
+
+    final var configuration = QueueConfiguration.of(name);
+    configuration.setAddress(address);
+    configuration.setRoutingType(routingType);
+    if (input.readBoolean()) {
+      configuration.setFilterString(ChDataFormat.readString(input));
+    }
+    configuration.setAutoCreated(Boolean.valueOf(input.readBoolean()));
+    configuration.setAutoCreateAddress(Boolean.TRUE);
+    configuration.setDurable(Boolean.TRUE);
+    return configuration;
+  }
+
+  private static void skipMessage(
+    final DataInputStream input)
+    throws IOException
+  {
+    /*
+     * The type, durability, expiration, timestamp, priority, and large
+     * message flag.
+     */
+
+    input.skipNBytes(20L);
+    if (input.readBoolean()) {
+      input.skipNBytes(16L);
+    }
+    ChDataFormat.skipProperties(input);
+    ChDataFormat.bodyInput(input).close();
+  }
+
+  private static void readMessage(
+    final DataInputStream input,
+    final ClientSession session,
+    final ClientProducer producer,
+    final String target)
+    throws Exception
+  {
+    final var type = input.readByte();
+    final var durable = input.readBoolean();
+    final var expiration = input.readLong();
+    final var timestamp = input.readLong();
+    final var priority = input.readByte();
+    final var large = input.readBoolean();
+
+    final var message =
+      session.createMessage(type, durable, expiration, timestamp, priority);
+
+    if (input.readBoolean()) {
+      final var id = input.readNBytes(16);
+      message.setUserID(new UUID(UUID.TYPE_TIME_BASED, id));
+    }
+
+    ChDataFormat.readProperties(input, message);
+
+    /*
+     * A message routed to several queues on the source server is exported
+     * once per queue, and every copy carries the same duplicate ID. Each
+     * copy is sent to the same address, so the second copy would be
+     * rejected by the duplicate ID cache of the address, causing the
+     * transaction to be rolled back.
+     */
+
+    message.removeProperty(Message.HDR_DUPLICATE_DETECTION_ID);
+
+    /*
+     * A body supplied as a stream is always sent as a large message, so
+     * only the bodies of messages that were large messages on the source
+     * server are streamed. Other bodies are small enough to read into
+     * memory.
+     */
+
+    try (var body = ChDataFormat.bodyInput(input)) {
+      if (large) {
+        message.setBodyInputStream(body);
+      } else {
+        message.getBodyBuffer().writeBytes(body.readAllBytes());
+      }
+      producer.send(target, message);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import jakarta.xml.bind.Unmarshaller;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.transform.sax.SAXSource;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An unmarshaller listener that records the position in the source
+ * document of each element as it is unmarshalled, so that errors found
+ * after unmarshalling can refer to the element at fault.
+ */
+
+final class ChElementPositions extends Unmarshaller.Listener
+{
+  private final URI file;
+  private final IdentityHashMap<Object, LexicalPosition<URI>> positions;
+  private Locator locator;
+
+  /**
+   * An unmarshaller listener that records element positions.
+   *
+   * @param inFile The source document
+   */
+
+  ChElementPositions(
+    final URI inFile)
+  {
+    this.file =
+      Objects.requireNonNull(inFile, "file");
+    this.positions =
+      new IdentityHashMap<>();
+  }
+
+  /**
+   * @param reader The XML reader
+   * @param stream The document stream
+   *
+   * @return A source that reads the document, tracking the current position
+   */
+
+  SAXSource source(
+    final XMLReader reader,
+    final InputStream stream)
+  {
+    final var input = new InputSource(stream);
+    input.setSystemId(this.file.toString());
+    return new SAXSource(new LocatingFilter(reader), input);
+  }
+
+  @Override
+  public void beforeUnmarshal(
+    final Object target,
+    final Object parent)
+  {
+    this.positions.put(target, this.current());
+  }
+
+  /**
+   * @param element An unmarshalled element
+   *
+   * @return The position of the element, or the start of the document if
+   * the element's position is unknown
+   */
+
+  LexicalPosition<URI> positionOf(
+    final Object element)
+  {
+    final var position = this.positions.get(element);
+    if (position == null) {
+      return LexicalPosition.of(0, 0, Optional.of(this.file));
+    }
+    return position;
+  }
+
+  private LexicalPosition<URI> current()
+  {
+    final var locatorNow = this.locator;
+    if (locatorNow == null) {
+      return LexicalPosition.of(0, 0, Optional.of(this.file));
+    }
+
+    return LexicalPosition.of(
+      locatorNow.getLineNumber(),
+      locatorNow.getColumnNumber(),
+      Optional.of(this.file)
+    );
+  }
+
+  private final class LocatingFilter extends XMLFilterImpl
+  {
+    LocatingFilter(
+      final XMLReader parent)
+    {
+      super(parent);
+    }
+
+    @Override
+    public void setDocumentLocator(
+      final Locator inLocator)
+    {
+      ChElementPositions.this.locator = inLocator;
+      super.setDocumentLocator(inLocator);
+    }
+  }
+}
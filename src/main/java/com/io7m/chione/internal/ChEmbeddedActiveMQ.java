@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.core.server.impl.ActiveMQServerImpl;
+import org.apache.activemq.artemis.core.server.impl.ServiceRegistryImpl;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An embedded server that can optionally be supplied with the executor used
+ * for the broker's general purpose work. The broker does not shut down
+ * executors that it did not create; the supplied executor is expected to
+ * hold no threads once the broker has stopped (such as a virtual thread per
+ * task executor).
+ */
+
+public final class ChEmbeddedActiveMQ extends EmbeddedActiveMQ
+{
+  private final Optional<ExecutorService> executor;
+
+  /**
+   * An embedded server that can optionally be supplied with the executor
+   * used for the broker's general purpose work.
+   *
+   * @param inExecutor The executor, if any
+   */
+
+  public ChEmbeddedActiveMQ(
+    final Optional<ExecutorService> inExecutor)
+  {
+    this.executor = Objects.requireNonNull(inExecutor, "executor");
+  }
+
+  @Override
+  public void createActiveMQServer()
+    throws Exception
+  {
+    if (this.activeMQServer != null || this.executor.isEmpty()) {
+      super.createActiveMQServer();
+      return;
+    }
+
+    final var services = new ServiceRegistryImpl();
+    services.setExecutorService(this.executor.get());
+
+    this.activeMQServer =
+      new ActiveMQServerImpl(
+        this.configuration,
+        this.mbeanServer,
+        this.securityManager,
+        null,
+        services
+      );
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Offline compaction of a journal. The server that owns the journal must
+ * not be running.
+ */
+
+public final class ChJournalCompactor
+{
+  /*
+   * The names and file sizes used by the Artemis journal storage manager.
+   */
+
+  private static final String MESSAGES_PREFIX = "activemq-data";
+  private static final String MESSAGES_SUFFIX = "amq";
+  private static final String BINDINGS_PREFIX = "activemq-bindings";
+  private static final String BINDINGS_SUFFIX = "bindings";
+  private static final int BINDINGS_FILE_SIZE = 1024 * 1024;
+  private static final int BINDINGS_MIN_FILES = 2;
+
+  private final Path directory;
+  private final String prefix;
+  private final String suffix;
+  private final int fileSize;
+  private final int minFiles;
+
+  private ChJournalCompactor(
+    final Path inDirectory,
+    final String inPrefix,
+    final String inSuffix,
+    final int inFileSize,
+    final int inMinFiles)
+  {
+    this.directory =
+      Objects.requireNonNull(inDirectory, "directory");
+    this.prefix =
+      Objects.requireNonNull(inPrefix, "prefix");
+    this.suffix =
+      Objects.requireNonNull(inSuffix, "suffix");
+    this.fileSize =
+      inFileSize;
+    this.minFiles =
+      inMinFiles;
+  }
+
+  /**
+   * @param directory The message journal directory
+   *
+   * @return A compactor for the message journal
+   */
+
+  public static ChJournalCompactor messages(
+    final Path directory)
+  {
+    return new ChJournalCompactor(
+      directory,
+      MESSAGES_PREFIX,
+      MESSAGES_SUFFIX,
+      ActiveMQDefaultConfiguration.getDefaultJournalFileSize(),
+      ActiveMQDefaultConfiguration.getDefaultJournalMinFiles()
+    );
+  }
+
+  /**
+   * @param directory The bindings journal directory
+   *
+   * @return A compactor for the bindings journal
+   */
+
+  public static ChJournalCompactor bindings(
+    final Path directory)
+  {
+    return new ChJournalCompactor(
+      directory,
+      BINDINGS_PREFIX,
+      BINDINGS_SUFFIX,
+      BINDINGS_FILE_SIZE,
+      BINDINGS_MIN_FILES
+    );
+  }
+
+  /**
+   * Check that no server holds a lock in the given journal directory.
+   *
+   * @param journalDirectory The message journal directory
+   *
+   * @throws IOException If a lock is held, or on I/O errors
+   */
+
+  public static void checkNotLocked(
+    final Path journalDirectory)
+    throws IOException
+  {
+    if (!Files.isDirectory(journalDirectory)) {
+      return;
+    }
+
+    /*
+     * The Artemis node manager holds one lock file per lock position
+     * ("serverlock.1" for a running primary, for example) for as long as
+     * the server is running.
+     */
+
+    try (var stream = Files.list(journalDirectory)) {
+      for (final var file : stream.toList()) {
+        final var name = file.getFileName().toString();
+        if (name.startsWith("serverlock.")) {
+          checkFileNotLocked(file);
+        }
+      }
+    }
+  }
+
+  private static void checkFileNotLocked(
+    final Path lockFile)
+    throws IOException
+  {
+    try (var channel =
+           FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+      final var lock = channel.tryLock();
+      if (lock == null) {
+        throw new IOException(
+          "The lock file %s is held by a running server."
+            .formatted(lockFile)
+        );
+      }
+      lock.release();
+    } catch (final OverlappingFileLockException e) {
+      throw new IOException(
+        "The lock file %s is held by a running server.".formatted(lockFile),
+        e
+      );
+    }
+  }
+
+  /**
+   * @return The journal directory
+   */
+
+  public Path directory()
+  {
+    return this.directory;
+  }
+
+  /**
+   * @return The data files currently in the journal
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public ChJournalFiles files()
+    throws IOException
+  {
+    if (!Files.isDirectory(this.directory)) {
+      return new ChJournalFiles(0, 0L);
+    }
+
+    var count = 0;
+    var size = 0L;
+    try (var stream = Files.list(this.directory)) {
+      for (final var file : stream.toList()) {
+        final var name = file.getFileName().toString();
+        if (name.startsWith(this.prefix + "-")
+            && name.endsWith("." + this.suffix)) {
+          ++count;
+          size += Files.size(file);
+        }
+      }
+    }
+    return new ChJournalFiles(count, size);
+  }
+
+  /**
+   * Compact the journal, regardless of the amount of live data it contains.
+   *
+   * @throws Exception On errors
+   */
+
+  public void compact()
+    throws Exception
+  {
+    if (!Files.isDirectory(this.directory)) {
+      return;
+    }
+
+    final var files =
+      new NIOSequentialFileFactory(this.directory.toFile(), 1);
+    /*
+     * The pool is limited to the minimum number of files so that the files
+     * released by compaction are deleted rather than kept for reuse.
+     */
+
+    final var journal =
+      new JournalImpl(
+        this.fileSize,
+        this.minFiles,
+        this.minFiles,
+        0,
+        0,
+        files,
+        this.prefix,
+        this.suffix,
+        1
+      );
+
+    journal.start();
+    try {
+      journal.loadInternalOnly();
+      journal.compact();
+    } finally {
+      journal.stop();
+    }
+  }
+}
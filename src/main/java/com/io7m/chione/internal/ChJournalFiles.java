@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+/**
+ * The data files that make up a journal.
+ *
+ * @param count The number of files
+ * @param size  The total size of the files in bytes
+ */
+
+public record ChJournalFiles(
+  int count,
+  long size)
+{
+  /**
+   * The data files that make up a journal.
+   *
+   * @param count The number of files
+   * @param size  The total size of the files in bytes
+   */
+
+  public ChJournalFiles
+  {
+    if (count < 0) {
+      throw new IllegalArgumentException("File count must be non-negative.");
+    }
+    if (size < 0L) {
+      throw new IllegalArgumentException("File size must be non-negative.");
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.ServerConsumer;
+import org.apache.activemq.artemis.core.server.ServerSession;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugin;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A broker plugin that counts the large messages written to the large
+ * message store, and the deliveries of large messages to consumers. A
+ * message that is delivered more than once, or to more than one consumer,
+ * is counted once for each delivery.
+ */
+
+public final class ChLargeMessageCounters
+  implements ActiveMQServerMessagePlugin
+{
+  private final LongAdder messagesWritten;
+  private final LongAdder bytesWritten;
+  private final LongAdder messagesDelivered;
+  private final LongAdder bytesDelivered;
+
+  /**
+   * A broker plugin that counts the large messages written to the large
+   * message store, and the deliveries of large messages to consumers.
+   */
+
+  public ChLargeMessageCounters()
+  {
+    this.messagesWritten = new LongAdder();
+    this.bytesWritten = new LongAdder();
+    this.messagesDelivered = new LongAdder();
+    this.bytesDelivered = new LongAdder();
+  }
+
+  @Override
+  public void afterSend(
+    final ServerSession session,
+    final Transaction tx,
+    final Message message,
+    final boolean direct,
+    final boolean noAutoCreateQueue,
+    final RoutingStatus result)
+  {
+    /*
+     * A message that was not routed to any queue is discarded rather than
+     * stored.
+     */
+
+    if (result == RoutingStatus.OK && message.isLargeMessage()) {
+      this.messagesWritten.increment();
+      this.bytesWritten.add(message.getWholeMessageSize());
+    }
+  }
+
+  @Override
+  public void afterDeliver(
+    final ServerConsumer consumer,
+    final MessageReference reference)
+  {
+    final var message = reference.getMessage();
+    if (message.isLargeMessage()) {
+      this.messagesDelivered.increment();
+      this.bytesDelivered.add(message.getWholeMessageSize());
+    }
+  }
+
+  /**
+   * @return The number of large messages written
+   */
+
+  public long messagesWritten()
+  {
+    return this.messagesWritten.sum();
+  }
+
+  /**
+   * @return The number of large message bytes written
+   */
+
+  public long bytesWritten()
+  {
+    return this.bytesWritten.sum();
+  }
+
+  /**
+   * @return The number of deliveries of large messages
+   */
+
+  public long messagesDelivered()
+  {
+    return this.messagesDelivered.sum();
+  }
+
+  /**
+   * @return The number of large message bytes delivered
+   */
+
+  public long bytesDelivered()
+  {
+    return this.bytesDelivered.sum();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+import java.util.Objects;
+
+/**
+ * A server used for offline maintenance of a data directory. The server
+ * accepts in-VM connections from the current process only, and does not
+ * authenticate clients.
+ */
+
+public final class ChMaintenanceServer implements AutoCloseable
+{
+  /**
+   * The URI of the in-VM acceptor.
+   */
+
+  public static final String ACCEPTOR_URI = "vm://0";
+
+  private final EmbeddedActiveMQ mq;
+  private ServerLocator locator;
+  private ClientSessionFactory sessions;
+
+  /**
+   * A server used for offline maintenance of a data directory.
+   *
+   * @param inMq The ActiveMQ server
+   */
+
+  public ChMaintenanceServer(
+    final EmbeddedActiveMQ inMq)
+  {
+    this.mq = Objects.requireNonNull(inMq, "mq");
+  }
+
+  /**
+   * Start the server and connect to it.
+   *
+   * @throws Exception On errors
+   */
+
+  public void start()
+    throws Exception
+  {
+    this.mq.start();
+
+    this.locator = ActiveMQClient.createServerLocator(ACCEPTOR_URI);
+    this.locator.setBlockOnDurableSend(false);
+    this.sessions = this.locator.createSessionFactory();
+  }
+
+  /**
+   * @return The underlying server
+   */
+
+  public ActiveMQServer server()
+  {
+    return this.mq.getActiveMQServer();
+  }
+
+  /**
+   * @return A factory of sessions connected to the server
+   */
+
+  public ClientSessionFactory sessions()
+  {
+    return Objects.requireNonNull(this.sessions, "Server is not started");
+  }
+
+  @Override
+  public void close()
+    throws Exception
+  {
+    if (this.sessions != null) {
+      this.sessions.close();
+      this.sessions = null;
+    }
+    if (this.locator != null) {
+      this.locator.close();
+      this.locator = null;
+    }
+    this.mq.stop();
+  }
+}
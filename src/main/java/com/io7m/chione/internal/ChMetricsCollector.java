@@ -0,0 +1,570 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.ToLongFunction;
+
+/**
+ * A collector that produces broker metrics in the Prometheus text format.
+ * Metrics are read from the broker's existing counters when the collector
+ * is invoked, and so collection adds no work to the message delivery path.
+ */
+
+public final class ChMetricsCollector
+{
+  private final ChLargeMessageCounters largeMessageCounters;
+  private final ChSlowConsumerCounters slowConsumerCounters;
+  private final ChAutoDeleteCounters autoDeleteCounters;
+
+  /**
+   * A collector that produces broker metrics in the Prometheus text format.
+   *
+   * @param inLargeMessageCounters The large message counters
+   * @param inSlowConsumerCounters The slow consumer counters
+   * @param inAutoDeleteCounters   The auto-deletion counters
+   */
+
+  public ChMetricsCollector(
+    final ChLargeMessageCounters inLargeMessageCounters,
+    final ChSlowConsumerCounters inSlowConsumerCounters,
+    final ChAutoDeleteCounters inAutoDeleteCounters)
+  {
+    this.largeMessageCounters =
+      Objects.requireNonNull(inLargeMessageCounters, "largeMessageCounters");
+    this.slowConsumerCounters =
+      Objects.requireNonNull(inSlowConsumerCounters, "slowConsumerCounters");
+    this.autoDeleteCounters =
+      Objects.requireNonNull(inAutoDeleteCounters, "autoDeleteCounters");
+  }
+
+  /**
+   * Collect metrics from the given server.
+   *
+   * @param server The server
+   *
+   * @return The metrics in the Prometheus text format
+   *
+   * @throws Exception On errors
+   */
+
+  public String collect(
+    final ActiveMQServer server)
+    throws Exception
+  {
+    Objects.requireNonNull(server, "server");
+
+    final var out = new StringBuilder(8192);
+    collectBroker(out, server);
+    collectMemory(out, server);
+    this.collectQueues(out, server);
+    collectAddresses(out, server);
+    collectThreadPools(out, server);
+    this.collectLargeMessages(out);
+    this.collectAutoDeletion(out);
+    return out.toString();
+  }
+
+  private static void collectBroker(
+    final StringBuilder out,
+    final ActiveMQServer server)
+  {
+    single(
+      out,
+      "chione_uptime_seconds",
+      "gauge",
+      "The time since the broker started.",
+      (double) server.getUptimeMillis() / 1000.0);
+
+    single(
+      out,
+      "chione_connections",
+      "gauge",
+      "The number of open client connections.",
+      server.getConnectionCount());
+
+    single(
+      out,
+      "chione_connections_total",
+      "counter",
+      "The number of client connections opened since the broker started.",
+      server.getTotalConnectionCount());
+  }
+
+  private static void collectMemory(
+    final StringBuilder out,
+    final ActiveMQServer server)
+  {
+    final var paging = server.getPagingManager();
+
+    single(
+      out,
+      "chione_global_size_bytes",
+      "gauge",
+      "The memory used by messages on all addresses.",
+      paging.getGlobalSize());
+
+    single(
+      out,
+      "chione_global_max_size_bytes",
+      "gauge",
+      "The memory limit for messages on all addresses.",
+      paging.getMaxSize());
+
+    single(
+      out,
+      "chione_global_messages",
+      "gauge",
+      "The number of messages held in memory on all addresses.",
+      paging.getGlobalMessages());
+
+    single(
+      out,
+      "chione_disk_full",
+      "gauge",
+      "1 if the broker has stopped accepting messages due to disk usage.",
+      paging.isDiskFull() ? 1L : 0L);
+
+    final var runtime = Runtime.getRuntime();
+    single(
+      out,
+      "chione_jvm_heap_used_bytes",
+      "gauge",
+      "The heap memory in use.",
+      runtime.totalMemory() - runtime.freeMemory());
+
+    single(
+      out,
+      "chione_jvm_heap_max_bytes",
+      "gauge",
+      "The maximum heap size.",
+      runtime.maxMemory());
+  }
+
+  private void collectQueues(
+    final StringBuilder out,
+    final ActiveMQServer server)
+  {
+    final List<Queue> queues =
+      server.getPostOffice()
+        .getAllBindings()
+        .filter(LocalQueueBinding.class::isInstance)
+        .map(b -> ((LocalQueueBinding) b).getQueue())
+        .sorted(Comparator.comparing(q -> q.getName().toString()))
+        .toList();
+
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_messages",
+      "gauge",
+      "The number of messages on the queue.",
+      Queue::getMessageCount);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_delivering_messages",
+      "gauge",
+      "The number of messages delivered but not yet acknowledged.",
+      Queue::getDeliveringCount);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_scheduled_messages",
+      "gauge",
+      "The number of messages scheduled for later delivery.",
+      Queue::getScheduledCount);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_consumers",
+      "gauge",
+      "The number of consumers on the queue.",
+      Queue::getConsumerCount);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_paused",
+      "gauge",
+      "1 if the queue is paused.",
+      q -> q.isPaused() ? 1L : 0L);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_messages_added_total",
+      "counter",
+      "The number of messages added to the queue.",
+      Queue::getMessagesAdded);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_messages_acknowledged_total",
+      "counter",
+      "The number of messages acknowledged from the queue.",
+      Queue::getMessagesAcknowledged);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_messages_expired_total",
+      "counter",
+      "The number of messages expired from the queue.",
+      Queue::getMessagesExpired);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_messages_killed_total",
+      "counter",
+      "The number of messages sent to the dead letter address.",
+      Queue::getMessagesKilled);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_messages_replaced_total",
+      "counter",
+      "The number of messages overwritten in a ring or last-value queue.",
+      Queue::getMessagesReplaced);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_ring_size",
+      "gauge",
+      "The maximum number of messages in the queue, or -1 if unbounded.",
+      Queue::getRingSize);
+    queueFamily(
+      out,
+      queues,
+      "chione_queue_slow_consumers_total",
+      "counter",
+      "The number of times a slow consumer was detected on the queue.",
+      q -> this.slowConsumerCounters.detections(q.getName().toString()));
+  }
+
+  private static void collectAddresses(
+    final StringBuilder out,
+    final ActiveMQServer server)
+    throws Exception
+  {
+    final var paging = server.getPagingManager();
+    final var stores = new ArrayList<PagingStore>();
+    for (final var name : paging.getStoreNames()) {
+      final var store = paging.getPageStore(name);
+      if (store != null) {
+        stores.add(store);
+      }
+    }
+    stores.sort(Comparator.comparing(s -> s.getStoreName().toString()));
+
+    addressFamily(
+      out,
+      stores,
+      "chione_address_size_bytes",
+      "gauge",
+      "The memory used by messages on the address.",
+      PagingStore::getAddressSize);
+    addressFamily(
+      out,
+      stores,
+      "chione_address_max_size_bytes",
+      "gauge",
+      "The memory limit for messages on the address.",
+      PagingStore::getMaxSize);
+    addressFamily(
+      out,
+      stores,
+      "chione_address_messages",
+      "gauge",
+      "The number of messages held in memory on the address.",
+      PagingStore::getAddressElements);
+    addressFamily(
+      out,
+      stores,
+      "chione_address_paging",
+      "gauge",
+      "1 if the address is paging.",
+      s -> s.isPaging() ? 1L : 0L);
+    addressFamily(
+      out,
+      stores,
+      "chione_address_pages",
+      "gauge",
+      "The number of page files for the address.",
+      PagingStore::getNumberOfPages);
+  }
+
+  private static void collectThreadPools(
+    final StringBuilder out,
+    final ActiveMQServer server)
+  {
+    final var pools = new ArrayList<ThreadPool>();
+    final var general = server.getThreadPool();
+    if (general instanceof final ThreadPoolExecutor e) {
+      pools.add(new ThreadPool("general", e));
+    }
+    if (server.getScheduledPool() instanceof final ThreadPoolExecutor e) {
+      pools.add(new ThreadPool("scheduled", e));
+    }
+
+    family(
+      out,
+      "chione_thread_pool_max_size",
+      "gauge",
+      "The maximum number of threads in the thread pool.");
+    for (final var pool : pools) {
+      sample(
+        out,
+        "chione_thread_pool_max_size",
+        pool.labels(),
+        pool.maxSize());
+    }
+
+    family(
+      out,
+      "chione_thread_pool_threads",
+      "gauge",
+      "The number of threads in the thread pool.");
+    for (final var pool : pools) {
+      sample(
+        out,
+        "chione_thread_pool_threads",
+        pool.labels(),
+        pool.executor().getPoolSize());
+    }
+
+    family(
+      out,
+      "chione_thread_pool_active_threads",
+      "gauge",
+      "The number of threads in the thread pool that are executing tasks.");
+    for (final var pool : pools) {
+      sample(
+        out,
+        "chione_thread_pool_active_threads",
+        pool.labels(),
+        pool.executor().getActiveCount());
+    }
+
+    /*
+     * A general pool that starts a virtual thread for each task has no
+     * size, and so appears only in this family.
+     */
+
+    family(
+      out,
+      "chione_thread_pool_virtual",
+      "gauge",
+      "1 if the thread pool starts a virtual thread for each task.");
+    for (final var pool : pools) {
+      sample(
+        out,
+        "chione_thread_pool_virtual",
+        pool.labels(),
+        0L);
+    }
+    if (general != null && !(general instanceof ThreadPoolExecutor)) {
+      sample(
+        out,
+        "chione_thread_pool_virtual",
+        "{pool=\"general\"}",
+        1L);
+    }
+  }
+
+  private void collectLargeMessages(
+    final StringBuilder out)
+  {
+    final var counters = this.largeMessageCounters;
+
+    single(
+      out,
+      "chione_large_messages_written_total",
+      "counter",
+      "The number of large messages written.",
+      counters.messagesWritten());
+
+    single(
+      out,
+      "chione_large_message_bytes_written_total",
+      "counter",
+      "The number of large message bytes written.",
+      counters.bytesWritten());
+
+    single(
+      out,
+      "chione_large_message_deliveries_total",
+      "counter",
+      "The number of deliveries of large messages.",
+      counters.messagesDelivered());
+
+    single(
+      out,
+      "chione_large_message_bytes_delivered_total",
+      "counter",
+      "The number of large message bytes delivered.",
+      counters.bytesDelivered());
+  }
+
+  private void collectAutoDeletion(
+    final StringBuilder out)
+  {
+    final var counters = this.autoDeleteCounters;
+
+    single(
+      out,
+      "chione_auto_deleted_queues_total",
+      "counter",
+      "The number of auto-created queues deleted while idle.",
+      counters.queuesDeleted());
+
+    single(
+      out,
+      "chione_auto_deleted_addresses_total",
+      "counter",
+      "The number of auto-created addresses deleted.",
+      counters.addressesDeleted());
+  }
+
+  private static void queueFamily(
+    final StringBuilder out,
+    final List<Queue> queues,
+    final String name,
+    final String type,
+    final String help,
+    final ToLongFunction<Queue> value)
+  {
+    family(out, name, type, help);
+    for (final var queue : queues) {
+      final var labels =
+        "{address=\"%s\",queue=\"%s\"}".formatted(
+          escape(queue.getAddress()),
+          escape(queue.getName())
+        );
+      sample(out, name, labels, value.applyAsLong(queue));
+    }
+  }
+
+  private static void addressFamily(
+    final StringBuilder out,
+    final List<PagingStore> stores,
+    final String name,
+    final String type,
+    final String help,
+    final ToLongFunction<PagingStore> value)
+  {
+    family(out, name, type, help);
+    for (final var store : stores) {
+      final var labels =
+        "{address=\"%s\"}".formatted(escape(store.getStoreName()));
+      sample(out, name, labels, value.applyAsLong(store));
+    }
+  }
+
+  private static void single(
+    final StringBuilder out,
+    final String name,
+    final String type,
+    final String help,
+    final long value)
+  {
+    family(out, name, type, help);
+    sample(out, name, "", value);
+  }
+
+  private static void single(
+    final StringBuilder out,
+    final String name,
+    final String type,
+    final String help,
+    final double value)
+  {
+    family(out, name, type, help);
+    sample(out, name, "", value);
+  }
+
+  private static void family(
+    final StringBuilder out,
+    final String name,
+    final String type,
+    final String help)
+  {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(
+    final StringBuilder out,
+    final String name,
+    final String labels,
+    final long value)
+  {
+    out.append(name).append(labels).append(' ').append(value).append('\n');
+  }
+
+  private static void sample(
+    final StringBuilder out,
+    final String name,
+    final String labels,
+    final double value)
+  {
+    out.append(name).append(labels).append(' ').append(value).append('\n');
+  }
+
+  private static String escape(
+    final SimpleString text)
+  {
+    if (text == null) {
+      return "";
+    }
+    return text.toString()
+      .replace("\\", "\\\\")
+      .replace("\"", "\\\"")
+      .replace("\n", "\\n");
+  }
+
+  private record ThreadPool(
+    String name,
+    ThreadPoolExecutor executor)
+  {
+    String labels()
+    {
+      return "{pool=\"%s\"}".formatted(this.name);
+    }
+
+    /*
+     * A scheduled executor never grows beyond its core size.
+     */
+
+    int maxSize()
+    {
+      if (this.executor instanceof ScheduledThreadPoolExecutor) {
+        return this.executor.getCorePoolSize();
+      }
+      return this.executor.getMaximumPoolSize();
+    }
+  }
+}
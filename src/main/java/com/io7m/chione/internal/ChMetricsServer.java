@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import com.io7m.chione.ChMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An HTTP server that serves broker metrics in the Prometheus text format.
+ * Requests are handled on the HTTP server's own dispatcher thread.
+ */
+
+public final class ChMetricsServer implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChMetricsServer.class);
+
+  private static final String CONTENT_TYPE =
+    "text/plain; version=0.0.4; charset=utf-8";
+
+  private final HttpServer http;
+  private final ChMetricsCollector collector;
+  private final ActiveMQServer server;
+
+  private ChMetricsServer(
+    final HttpServer inHttp,
+    final ChMetricsCollector inCollector,
+    final ActiveMQServer inServer)
+  {
+    this.http =
+      Objects.requireNonNull(inHttp, "http");
+    this.collector =
+      Objects.requireNonNull(inCollector, "collector");
+    this.server =
+      Objects.requireNonNull(inServer, "server");
+  }
+
+  /**
+   * Start a metrics server.
+   *
+   * @param configuration The metrics endpoint configuration
+   * @param collector     The metrics collector
+   * @param server        The broker
+   *
+   * @return A running metrics server
+   *
+   * @throws IOException On errors
+   */
+
+  public static ChMetricsServer start(
+    final ChMetrics configuration,
+    final ChMetricsCollector collector,
+    final ActiveMQServer server)
+    throws IOException
+  {
+    Objects.requireNonNull(configuration, "configuration");
+
+    final var address =
+      new InetSocketAddress(configuration.address(), configuration.port());
+    final var http =
+      HttpServer.create(address, 0);
+    final var metrics =
+      new ChMetricsServer(http, collector, server);
+
+    http.createContext("/metrics", metrics::handle);
+    http.setExecutor(null);
+    http.start();
+
+    LOG.info(
+      "Metrics endpoint: http://{}:{}/metrics",
+      configuration.address(),
+      Integer.valueOf(http.getAddress().getPort()));
+    return metrics;
+  }
+
+  private void handle(
+    final HttpExchange exchange)
+    throws IOException
+  {
+    try {
+      final var method = exchange.getRequestMethod();
+      final var isHead = "HEAD".equals(method);
+      if (!isHead && !"GET".equals(method)) {
+        exchange.sendResponseHeaders(405, -1L);
+        return;
+      }
+      if (!"/metrics".equals(exchange.getRequestURI().getPath())) {
+        exchange.sendResponseHeaders(404, -1L);
+        return;
+      }
+      if (!this.server.isActive()) {
+        exchange.sendResponseHeaders(503, -1L);
+        return;
+      }
+
+      final byte[] data;
+      try {
+        data = this.collector.collect(this.server).getBytes(UTF_8);
+      } catch (final Exception e) {
+        LOG.error("Failed to collect metrics: ", e);
+        exchange.sendResponseHeaders(500, -1L);
+        return;
+      }
+
+      exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+      if (isHead) {
+        exchange.sendResponseHeaders(200, -1L);
+        return;
+      }
+
+      exchange.sendResponseHeaders(200, data.length);
+      try (var output = exchange.getResponseBody()) {
+        output.write(data);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    this.http.stop(0);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import com.io7m.chione.ChAddressAnycast;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.server.ServerSession;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugin;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A broker plugin that assigns messages sent to partitioned anycast
+ * addresses to a partition. Each partition queue has a filter that accepts
+ * only messages assigned to its partition. Messages that reach the address
+ * without passing through a session send, such as those delivered by
+ * bridges, federation, diverts, or the management API, are not assigned a
+ * partition, and are accepted by the first partition.
+ */
+
+public final class ChPartitionRouter
+  implements ActiveMQServerMessagePlugin
+{
+  /**
+   * The message property that holds the partition index.
+   */
+
+  public static final SimpleString PARTITION_PROPERTY =
+    SimpleString.of("_CHIONE_PARTITION");
+
+  private final Map<SimpleString, Partitioning> addresses;
+
+  /**
+   * A broker plugin that assigns messages to partitions.
+   *
+   * @param inAddresses The partitioned addresses
+   */
+
+  public ChPartitionRouter(
+    final Collection<ChAddressAnycast> inAddresses)
+  {
+    Objects.requireNonNull(inAddresses, "addresses");
+
+    this.addresses =
+      inAddresses.stream()
+        .filter(ChAddressAnycast::isPartitioned)
+        .collect(Collectors.toUnmodifiableMap(
+          a -> SimpleString.of(a.name()),
+          Partitioning::new
+        ));
+  }
+
+  /**
+   * @param partition The partition index
+   *
+   * @return The filter expression that selects messages for a partition
+   */
+
+  public static String filterFor(
+    final int partition)
+  {
+    if (partition == 0) {
+      return "%s = 0 OR %s IS NULL".formatted(
+        PARTITION_PROPERTY,
+        PARTITION_PROPERTY
+      );
+    }
+    return "%s = %d".formatted(PARTITION_PROPERTY, Integer.valueOf(partition));
+  }
+
+  /*
+   * The partition must be assigned before the post office selects bindings.
+   * The broker calls beforeMessageRoute() only after the bindings for a
+   * message have been selected, so the assignment happens on send instead.
+   */
+
+  @Override
+  public void beforeSend(
+    final ServerSession session,
+    final Transaction tx,
+    final Message message,
+    final boolean direct,
+    final boolean noAutoCreateQueue)
+  {
+    final var partitioning =
+      this.addresses.get(message.getAddressSimpleString());
+
+    if (partitioning != null) {
+      message.putIntProperty(
+        PARTITION_PROPERTY,
+        partitioning.partitionOf(message)
+      );
+    }
+  }
+
+  private static final class Partitioning
+  {
+    private final int partitions;
+    private final SimpleString key;
+    private final AtomicInteger next;
+
+    Partitioning(
+      final ChAddressAnycast address)
+    {
+      this.partitions =
+        address.partitions();
+      this.key =
+        address.partitionKey()
+          .map(SimpleString::of)
+          .orElse(null);
+      this.next =
+        new AtomicInteger();
+    }
+
+    /*
+     * Messages in the same group must be consumed in order, so a message
+     * without a partition key is assigned by its group ID if it has one.
+     */
+
+    int partitionOf(
+      final Message message)
+    {
+      if (this.key != null) {
+        final var value = message.getObjectProperty(this.key);
+        if (value != null) {
+          return this.partitionOfValue(value);
+        }
+      }
+
+      final var group = message.getGroupID();
+      if (group != null) {
+        return this.partitionOfValue(group);
+      }
+      return Math.floorMod(this.next.getAndIncrement(), this.partitions);
+    }
+
+    private int partitionOfValue(
+      final Object value)
+    {
+      return Math.floorMod(value.toString().hashCode(), this.partitions);
+    }
+  }
+}
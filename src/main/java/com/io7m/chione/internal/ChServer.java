@@ -17,63 +17,270 @@
 
 package com.io7m.chione.internal;
 
+import com.io7m.chione.ChMetrics;
 import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * The default server implementation.
+ * The default server implementation. The server is started and stopped
+ * asynchronously on a dedicated lifecycle thread; callers observe the
+ * progress of the server through the futures returned by {@link #start()}
+ * and {@link #stop()}.
  */
 
 public final class ChServer implements AutoCloseable
 {
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChServer.class);
+
   private final EmbeddedActiveMQ mq;
-  private final AtomicBoolean closed;
+  private final ChLargeMessageCounters largeMessageCounters;
+  private final Optional<ChMetrics> metrics;
+  private final ChMetricsCollector metricsCollector;
+  private final ChAutoDeleteCounters autoDeleteCounters;
+  private final long autoDeleteReportPeriod;
+  private final ChServiceNotifier notifier;
+  private final ExecutorService lifecycle;
+  private final AtomicBoolean startRequested;
+  private final AtomicBoolean stopRequested;
+  private final CompletableFuture<Void> started;
+  private final CompletableFuture<Void> stopped;
+  private volatile ChMetricsServer metricsServer;
+  private volatile ScheduledFuture<?> autoDeleteReport;
 
   /**
    * The default server implementation.
    *
-   * @param inMq The ActiveMQ server
+   * @param inMq                     The ActiveMQ server
+   * @param inLargeMessageCounters   The large message counters
+   * @param inMetrics                The metrics endpoint, if any
+   * @param inMetricsCollector       The metrics collector
+   * @param inAutoDeleteCounters     The auto-deletion counters
+   * @param inAutoDeleteReportPeriod The auto-deletion report period in
+   *                                 milliseconds
+   * @param inNotifier               The service manager notifier
    */
 
   public ChServer(
-    final EmbeddedActiveMQ inMq)
+    final EmbeddedActiveMQ inMq,
+    final ChLargeMessageCounters inLargeMessageCounters,
+    final Optional<ChMetrics> inMetrics,
+    final ChMetricsCollector inMetricsCollector,
+    final ChAutoDeleteCounters inAutoDeleteCounters,
+    final long inAutoDeleteReportPeriod,
+    final ChServiceNotifier inNotifier)
   {
     this.mq =
       Objects.requireNonNull(inMq, "mq");
-    this.closed =
-      new AtomicBoolean(true);
+    this.largeMessageCounters =
+      Objects.requireNonNull(inLargeMessageCounters, "largeMessageCounters");
+    this.metrics =
+      Objects.requireNonNull(inMetrics, "metrics");
+    this.metricsCollector =
+      Objects.requireNonNull(inMetricsCollector, "metricsCollector");
+    this.autoDeleteCounters =
+      Objects.requireNonNull(inAutoDeleteCounters, "autoDeleteCounters");
+    this.autoDeleteReportPeriod =
+      inAutoDeleteReportPeriod;
+    this.notifier =
+      Objects.requireNonNull(inNotifier, "notifier");
+    this.lifecycle =
+      Executors.newSingleThreadExecutor(r -> {
+        final var thread = new Thread(r, "chione-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+      });
+    this.startRequested =
+      new AtomicBoolean(false);
+    this.stopRequested =
+      new AtomicBoolean(false);
+    this.started =
+      new CompletableFuture<>();
+    this.stopped =
+      new CompletableFuture<>();
   }
 
   /**
-   * Start the server, blocking until {@link #close()}.
+   * Start the server. The method returns immediately; the returned future
+   * is completed when the server is active and accepting connections, or
+   * completed exceptionally if the server fails to start. Calling this
+   * method more than once has no further effect.
    *
-   * @throws Exception On errors
+   * @return A future representing the server becoming ready
    */
 
-  public void start()
-    throws Exception
+  public CompletableFuture<Void> start()
+  {
+    if (this.startRequested.compareAndSet(false, true)) {
+      if (this.stopRequested.get()) {
+        this.started.cancel(false);
+      } else {
+        this.lifecycle.execute(this::doStart);
+      }
+    }
+    return this.started;
+  }
+
+  /**
+   * Stop the server. The method returns immediately; the returned future
+   * is completed when the server has stopped. Clients are given up to the
+   * configured drain timeout to disconnect. Calling this method more than
+   * once has no further effect.
+   *
+   * @return A future representing the server having stopped
+   */
+
+  public CompletableFuture<Void> stop()
+  {
+    if (this.stopRequested.compareAndSet(false, true)) {
+      if (this.startRequested.compareAndSet(false, true)) {
+        this.started.cancel(false);
+        this.stopped.complete(null);
+        this.lifecycle.shutdown();
+      } else {
+        this.lifecycle.execute(this::doStop);
+        this.lifecycle.shutdown();
+      }
+    }
+    return this.stopped;
+  }
+
+  /**
+   * @return A future that is completed when the server is ready
+   */
+
+  public CompletableFuture<Void> started()
+  {
+    return this.started;
+  }
+
+  /**
+   * @return A future that is completed when the server has stopped
+   */
+
+  public CompletableFuture<Void> stopped()
+  {
+    return this.stopped;
+  }
+
+  private void doStart()
   {
-    if (this.closed.compareAndSet(true, false)) {
+    try {
       this.mq.start();
 
-      while (!this.closed.get()) {
-        try {
-          Thread.sleep(100L);
-        } catch (final InterruptedException e) {
-          Thread.currentThread().interrupt();
+      final var server = this.mq.getActiveMQServer();
+      while (!server.waitForActivation(1L, TimeUnit.SECONDS)) {
+        if (this.stopRequested.get()) {
+          throw new CancellationException(
+            "The server was stopped before it became active."
+          );
         }
+        LOG.info("Waiting for the server to become active");
       }
+
+      if (this.metrics.isPresent()) {
+        this.metricsServer =
+          ChMetricsServer.start(
+            this.metrics.get(),
+            this.metricsCollector,
+            server
+          );
+      }
+
+      this.autoDeleteReport =
+        server.getScheduledPool()
+          .scheduleAtFixedRate(
+            this.autoDeleteCounters::report,
+            this.autoDeleteReportPeriod,
+            this.autoDeleteReportPeriod,
+            TimeUnit.MILLISECONDS
+          );
+
+      LOG.info("Server is ready");
+      this.notifier.ready("Accepting connections");
+      this.started.complete(null);
+    } catch (final Throwable e) {
+      LOG.error("Server failed to start: ", e);
+      this.started.completeExceptionally(e);
     }
   }
 
+  private void doStop()
+  {
+    try {
+      LOG.info("Server is stopping");
+      this.notifier.stopping("Draining connections");
+
+      final var metricsNow = this.metricsServer;
+      if (metricsNow != null) {
+        metricsNow.close();
+        this.metricsServer = null;
+      }
+
+      final var reportNow = this.autoDeleteReport;
+      if (reportNow != null) {
+        reportNow.cancel(false);
+        this.autoDeleteReport = null;
+      }
+
+      this.mq.stop();
+
+      final var counters = this.largeMessageCounters;
+      LOG.info(
+        "Large messages: {} written ({} bytes), {} delivered ({} bytes)",
+        Long.valueOf(counters.messagesWritten()),
+        Long.valueOf(counters.bytesWritten()),
+        Long.valueOf(counters.messagesDelivered()),
+        Long.valueOf(counters.bytesDelivered())
+      );
+      this.autoDeleteCounters.report();
+
+      LOG.info("Server has stopped");
+      this.stopped.complete(null);
+    } catch (final Throwable e) {
+      LOG.error("Server failed to stop cleanly: ", e);
+      this.stopped.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Stop the server, blocking until it has stopped.
+   *
+   * @throws Exception On errors
+   */
+
   @Override
   public void close()
     throws Exception
   {
-    if (this.closed.compareAndSet(false, true)) {
-      this.mq.stop();
+    try {
+      this.stop().get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof final Exception cause) {
+        throw cause;
+      }
+      throw e;
     }
   }
+
+  /**
+   * @return The large message counters
+   */
+
+  public ChLargeMessageCounters largeMessageCounters()
+  {
+    return this.largeMessageCounters;
+  }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifications sent to the service manager using the systemd notification
+ * protocol. Notifications are only sent if the service manager has provided
+ * a notification socket in the {@code NOTIFY_SOCKET} environment variable.
+ */
+
+public final class ChServiceNotifier
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChServiceNotifier.class);
+
+  private final String socket;
+
+  private ChServiceNotifier(
+    final String inSocket)
+  {
+    this.socket = inSocket;
+  }
+
+  /**
+   * @return A notifier for the notification socket in the current
+   * environment, if any
+   */
+
+  public static ChServiceNotifier fromEnvironment()
+  {
+    final var socket = System.getenv("NOTIFY_SOCKET");
+    if (socket == null || socket.isBlank()) {
+      return disabled();
+    }
+
+    if (!isOnPath("systemd-notify")) {
+      LOG.warn(
+        "NOTIFY_SOCKET is set, but systemd-notify is not on the PATH; "
+        + "the service manager will not be notified of readiness"
+      );
+      return disabled();
+    }
+    return new ChServiceNotifier(socket);
+  }
+
+  private static boolean isOnPath(
+    final String program)
+  {
+    final var path = System.getenv("PATH");
+    if (path == null) {
+      return false;
+    }
+
+    for (final var directory : path.split(File.pathSeparator)) {
+      if (directory.isEmpty()) {
+        continue;
+      }
+      if (Files.isExecutable(Path.of(directory, program))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return A notifier that never sends notifications
+   */
+
+  public static ChServiceNotifier disabled()
+  {
+    return new ChServiceNotifier(null);
+  }
+
+  /**
+   * Notify the service manager that the service is ready.
+   *
+   * @param status A human-readable status message
+   */
+
+  public void ready(
+    final String status)
+  {
+    this.send(List.of("READY=1", "STATUS=" + status));
+  }
+
+  /**
+   * Notify the service manager that the service is stopping.
+   *
+   * @param status A human-readable status message
+   */
+
+  public void stopping(
+    final String status)
+  {
+    this.send(List.of("STOPPING=1", "STATUS=" + status));
+  }
+
+  /*
+   * The notification socket is a UNIX datagram socket, which the JDK cannot
+   * write to. The systemd-notify tool is used to send the datagram instead,
+   * on behalf of this process. The service unit must therefore specify
+   * NotifyAccess=all.
+   */
+
+  private void send(
+    final List<String> assignments)
+  {
+    Objects.requireNonNull(assignments, "assignments");
+
+    if (this.socket == null || this.socket.isBlank()) {
+      return;
+    }
+
+    final var command = new ArrayList<String>();
+    command.add("systemd-notify");
+    command.add(
+      "--pid=%d".formatted(Long.valueOf(ProcessHandle.current().pid()))
+    );
+    command.addAll(assignments);
+
+    try {
+      final var process =
+        new ProcessBuilder(command)
+          .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+          .redirectError(ProcessBuilder.Redirect.DISCARD)
+          .start();
+
+      if (!process.waitFor(5L, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+        LOG.warn("systemd-notify did not complete in time");
+        return;
+      }
+
+      final var exit = process.exitValue();
+      if (exit != 0) {
+        LOG.warn(
+          "systemd-notify failed with exit code {}",
+          Integer.valueOf(exit)
+        );
+      }
+    } catch (final IOException e) {
+      LOG.warn("Unable to run systemd-notify: {}", e.getMessage());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.security.SecurityAuth;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.ServerConsumer;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerConsumerPlugin;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerQueuePlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A broker plugin that logs and counts the slow consumers detected on each
+ * queue. The broker itself applies the configured slow consumer policy.
+ * The count for a queue is discarded when the queue is destroyed.
+ */
+
+public final class ChSlowConsumerCounters
+  implements ActiveMQServerConsumerPlugin, ActiveMQServerQueuePlugin
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(ChSlowConsumerCounters.class);
+
+  private final Map<String, LongAdder> detections;
+
+  /**
+   * A broker plugin that logs and counts the slow consumers detected on each
+   * queue.
+   */
+
+  public ChSlowConsumerCounters()
+  {
+    this.detections = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void afterCreateConsumer(
+    final ServerConsumer consumer)
+  {
+    /*
+     * Some protocols install their own listener on the consumer. Keep it,
+     * and call it after counting the detection.
+     */
+
+    final var existing = consumer.getSlowConsumerDetecion();
+    consumer.setlowConsumerDetection(slow -> {
+      this.onSlowConsumer(slow);
+      if (existing != null) {
+        existing.onSlowConsumer(slow);
+      }
+    });
+  }
+
+  @Override
+  public void afterDestroyQueue(
+    final Queue queue,
+    final SimpleString address,
+    final SecurityAuth session,
+    final boolean checkConsumerCount,
+    final boolean removeConsumers,
+    final boolean autoDeleteAddress)
+  {
+    this.detections.remove(queue.getName().toString());
+  }
+
+  private void onSlowConsumer(
+    final ServerConsumer consumer)
+  {
+    final var queue = consumer.getQueue().getName().toString();
+    this.detections.computeIfAbsent(queue, k -> new LongAdder())
+      .increment();
+
+    LOG.warn(
+      "Slow consumer {} detected on queue {} (session {}, remote address {})",
+      Long.valueOf(consumer.getID()),
+      queue,
+      consumer.getSessionID(),
+      consumer.getConnectionRemoteAddress()
+    );
+  }
+
+  /**
+   * @param queue The queue name
+   *
+   * @return The number of slow consumers detected on the given queue
+   */
+
+  public long detections(
+    final String queue)
+  {
+    final var count = this.detections.get(queue);
+    if (count == null) {
+      return 0L;
+    }
+    return count.sum();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal.commands;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.chione.internal.ChJournalCompactor;
+import com.io7m.claypot.core.CLPAbstractCommand;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+
+/**
+ * Compact the journals of a stopped server.
+ */
+
+@Parameters(commandDescription = "Compact the journals of a stopped server.")
+public final class ChCompactJournal extends CLPAbstractCommand
+{
+  @Parameter(
+    names = "--file",
+    description = "The configuration file",
+    required = true
+  )
+  private Path file;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public ChCompactJournal(
+    final CLPCommandContextType inContext)
+  {
+    super(inContext);
+  }
+
+  @Override
+  protected Status executeActual()
+    throws Exception
+  {
+    final var logger = this.logger();
+
+    this.file = this.file.toAbsolutePath();
+
+    final var configurationOpt =
+      ChConfigurationFiles.parse(logger, this.file);
+    if (configurationOpt.isEmpty()) {
+      return FAILURE;
+    }
+    final var configuration = configurationOpt.get();
+
+    final var directories = configuration.directories();
+    try {
+      ChJournalCompactor.checkNotLocked(directories.journal());
+    } catch (final Exception e) {
+      logger.error("{}", e.getMessage());
+      logger.error("The server must be stopped before compacting journals.");
+      return FAILURE;
+    }
+
+    final var compactors = List.of(
+      ChJournalCompactor.bindings(directories.bindings()),
+      ChJournalCompactor.messages(directories.journal())
+    );
+
+    for (final var compactor : compactors) {
+      compact(logger, compactor);
+    }
+    return SUCCESS;
+  }
+
+  private static void compact(
+    final Logger logger,
+    final ChJournalCompactor compactor)
+    throws Exception
+  {
+    final var before = compactor.files();
+    final var timeThen = System.nanoTime();
+    compactor.compact();
+    final var timeNow = System.nanoTime();
+    final var after = compactor.files();
+
+    logger.info(
+      "{}: {} files ({} bytes) -> {} files ({} bytes) in {} ms",
+      compactor.directory(),
+      Integer.valueOf(before.count()),
+      Long.valueOf(before.size()),
+      Integer.valueOf(after.count()),
+      Long.valueOf(after.size()),
+      Long.valueOf((timeNow - timeThen) / 1_000_000L)
+    );
+  }
+
+  @Override
+  public String name()
+  {
+    return "compact-journal";
+  }
+}
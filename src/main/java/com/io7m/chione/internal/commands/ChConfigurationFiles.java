@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal.commands;
+
+import com.io7m.anethum.common.ParseStatus;
+import com.io7m.chione.ChServerConfiguration;
+import com.io7m.chione.internal.ChConfigurationParser;
+import org.slf4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Functions to load configuration files on behalf of commands.
+ */
+
+final class ChConfigurationFiles
+{
+  private ChConfigurationFiles()
+  {
+
+  }
+
+  /**
+   * Parse a configuration file, logging any errors or warnings.
+   *
+   * @param logger The logger
+   * @param file   The configuration file
+   *
+   * @return The configuration, or nothing if the file could not be parsed
+   */
+
+  static Optional<ChServerConfiguration> parse(
+    final Logger logger,
+    final Path file)
+  {
+    try (var stream = Files.newInputStream(file)) {
+      final var parser =
+        new ChConfigurationParser(
+          file.getFileSystem(),
+          file.toUri(),
+          stream,
+          status -> logParseStatus(logger, status)
+        );
+      return Optional.of(parser.parse());
+    } catch (final Exception e) {
+      logger.error("error: ", e);
+      return Optional.empty();
+    }
+  }
+
+  private static void logParseStatus(
+    final Logger logger,
+    final ParseStatus status)
+  {
+    switch (status.severity()) {
+      case PARSE_ERROR -> {
+        logger.error(
+          "{}:{}: {}",
+          Integer.valueOf(status.lexical().line()),
+          Integer.valueOf(status.lexical().column()),
+          status.message()
+        );
+      }
+      case PARSE_WARNING -> {
+        logger.warn(
+          "{}:{}: {}",
+          Integer.valueOf(status.lexical().line()),
+          Integer.valueOf(status.lexical().column()),
+          status.message()
+        );
+      }
+      case PARSE_INFO -> {
+        logger.info(
+          "{}:{}: {}",
+          Integer.valueOf(status.lexical().line()),
+          Integer.valueOf(status.lexical().column()),
+          status.message()
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal.commands;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.chione.ChMain;
+import com.io7m.claypot.core.CLPAbstractCommand;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+
+/**
+ * Create an application class data sharing (AppCDS) archive by performing
+ * a training run in a separate JVM, and then measure the effect of the
+ * archive on the time taken for the server to become ready in further
+ * training runs.
+ */
+
+@Parameters(commandDescription = "Create a class data sharing archive.")
+public final class ChCreateCDSArchive extends CLPAbstractCommand
+{
+  private static final Pattern READY =
+    Pattern.compile("Server ready ([0-9]+) ms after JVM start");
+
+  @Parameter(
+    names = "--file",
+    description = "The configuration file used for the training run",
+    required = true
+  )
+  private Path file;
+
+  @Parameter(
+    names = "--output",
+    description = "The output archive file",
+    required = true
+  )
+  private Path output;
+
+  @Parameter(
+    names = "--measurement-runs",
+    description = "The number of timed runs with and without the archive"
+  )
+  private int measurementRuns = 3;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public ChCreateCDSArchive(
+    final CLPCommandContextType inContext)
+  {
+    super(inContext);
+  }
+
+  @Override
+  protected Status executeActual()
+    throws Exception
+  {
+    final var logger = this.logger();
+
+    this.file = this.file.toAbsolutePath();
+    this.output = this.output.toAbsolutePath();
+
+    /*
+     * The JVM only archives classes loaded from JAR files, so the archive
+     * is only useful when running from the shaded jar.
+     */
+
+    final var classPath = System.getProperty("java.class.path");
+    if (!classPath.endsWith(".jar")) {
+      logger.warn(
+        "The class path {} is not a jar file; application classes will "
+          + "not be archived.",
+        classPath
+      );
+    }
+
+    final var java =
+      Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    logger.info("Performing training run");
+    Files.deleteIfExists(this.output);
+    final var trainingTime =
+      trainingRun(
+        logger,
+        java,
+        classPath,
+        this.file,
+        Optional.of("-XX:ArchiveClassesAtExit=%s".formatted(this.output))
+      );
+    if (trainingTime.isEmpty()) {
+      return FAILURE;
+    }
+    if (!Files.isRegularFile(this.output)) {
+      logger.error("The training run failed to create an archive.");
+      return FAILURE;
+    }
+
+    logger.info(
+      "Created archive {} ({} bytes)",
+      this.output,
+      Long.valueOf(Files.size(this.output))
+    );
+
+    final var withoutTimes = new ArrayList<Long>();
+    final var withTimes = new ArrayList<Long>();
+    for (int index = 0; index < this.measurementRuns; ++index) {
+      final var without =
+        trainingRun(
+          logger,
+          java,
+          classPath,
+          this.file,
+          Optional.empty()
+        );
+      final var with =
+        trainingRun(
+          logger,
+          java,
+          classPath,
+          this.file,
+          Optional.of("-XX:SharedArchiveFile=%s".formatted(this.output))
+        );
+      if (without.isEmpty() || with.isEmpty()) {
+        return FAILURE;
+      }
+      withoutTimes.add(without.get());
+      withTimes.add(with.get());
+    }
+
+    if (this.measurementRuns > 0) {
+      report(logger, withoutTimes, withTimes);
+    }
+
+    logger.info(
+      "Run the server with: "
+        + "java -XX:SharedArchiveFile={} -jar {} server --file <configuration>",
+      this.output,
+      classPath
+    );
+    return SUCCESS;
+  }
+
+  private static void report(
+    final Logger logger,
+    final List<Long> withoutTimes,
+    final List<Long> withTimes)
+  {
+    final var without = median(withoutTimes);
+    final var with = median(withTimes);
+
+    logger.info(
+      "Median startup time without archive: {} ms {}",
+      Long.valueOf(without),
+      withoutTimes
+    );
+    logger.info(
+      "Median startup time with archive: {} ms {}",
+      Long.valueOf(with),
+      withTimes
+    );
+    logger.info(
+      "Improvement: {} ms ({}%)",
+      Long.valueOf(without - with),
+      Long.valueOf(((without - with) * 100L) / Math.max(1L, without))
+    );
+  }
+
+  private static long median(
+    final List<Long> times)
+  {
+    final var sorted = times.stream().sorted().toList();
+    return sorted.get(sorted.size() / 2).longValue();
+  }
+
+  /**
+   * Run a training run in a separate JVM. The output of the JVM is
+   * written to a temporary file, which is retained only if the run fails.
+   *
+   * @return The time in milliseconds between the start of the JVM and the
+   * server becoming ready, or nothing if the run failed
+   */
+
+  private static Optional<Long> trainingRun(
+    final Logger logger,
+    final String java,
+    final String classPath,
+    final Path file,
+    final Optional<String> option)
+    throws IOException, InterruptedException
+  {
+    final var command = new ArrayList<String>();
+    command.add(java);
+    option.ifPresent(command::add);
+    command.add("-cp");
+    command.add(classPath);
+    command.add(ChMain.class.getCanonicalName());
+    command.add("training-run");
+    command.add("--file");
+    command.add(file.toString());
+
+    final var log = Files.createTempFile("chione-training-", ".log");
+    final var builder =
+      new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(log.toFile());
+
+    /*
+     * The training run is not the service, and must not appear to the
+     * service manager to be it.
+     */
+
+    builder.environment().remove("NOTIFY_SOCKET");
+    final var process = builder.start();
+
+    final var exit = process.waitFor();
+    final var ready =
+      Files.readAllLines(log)
+        .stream()
+        .map(READY::matcher)
+        .filter(Matcher::find)
+        .map(m -> Long.valueOf(m.group(1)))
+        .findFirst();
+
+    if (exit != 0 || ready.isEmpty()) {
+      logger.error(
+        "The training run failed (exit code {}); see {}",
+        Integer.valueOf(exit),
+        log
+      );
+      return Optional.empty();
+    }
+
+    Files.delete(log);
+    return ready;
+  }
+
+  @Override
+  public String name()
+  {
+    return "create-cds-archive";
+  }
+}
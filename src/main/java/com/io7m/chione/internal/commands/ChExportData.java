@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal.commands;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.chione.ChServers;
+import com.io7m.chione.internal.ChDataExporter;
+import com.io7m.chione.internal.ChDataTransferStatistics;
+import com.io7m.chione.internal.ChJournalCompactor;
+import com.io7m.claypot.core.CLPAbstractCommand;
+import com.io7m.claypot.core.CLPCommandContextType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Export data from a stopped server.
+ */
+
+@Parameters(commandDescription = "Export data from a stopped server.")
+public final class ChExportData extends CLPAbstractCommand
+{
+  @Parameter(
+    names = "--file",
+    description = "The configuration file",
+    required = true
+  )
+  private Path file;
+
+  @Parameter(
+    names = "--output",
+    description = "The output file",
+    required = true
+  )
+  private Path output;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public ChExportData(
+    final CLPCommandContextType inContext)
+  {
+    super(inContext);
+  }
+
+  @Override
+  protected Status executeActual()
+    throws Exception
+  {
+    final var logger = this.logger();
+
+    this.file = this.file.toAbsolutePath();
+    this.output = this.output.toAbsolutePath();
+
+    final var configurationOpt =
+      ChConfigurationFiles.parse(logger, this.file);
+    if (configurationOpt.isEmpty()) {
+      return FAILURE;
+    }
+    final var configuration = configurationOpt.get();
+
+    try {
+      ChJournalCompactor.checkNotLocked(configuration.directories().journal());
+    } catch (final Exception e) {
+      logger.error("{}", e.getMessage());
+      logger.error("The server must be stopped before exporting data.");
+      return FAILURE;
+    }
+
+    /*
+     * The data is written to a temporary file that replaces the output
+     * file only if the export succeeds, so a failed export never leaves
+     * a truncated file behind.
+     */
+
+    final var outputTemp =
+      this.output.resolveSibling(this.output.getFileName() + ".tmp");
+
+    final var servers = new ChServers();
+    final var timeThen = System.nanoTime();
+    final ChDataTransferStatistics statistics;
+    try (var server = servers.createMaintenanceServer(configuration)) {
+      server.start();
+      statistics =
+        new ChDataExporter(server)
+          .exportData(Files.newOutputStream(outputTemp));
+      Files.move(outputTemp, this.output, REPLACE_EXISTING, ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(outputTemp);
+    }
+    final var timeNow = System.nanoTime();
+
+    logger.info(
+      "Exported {} messages in {} queues in {} ms",
+      Long.valueOf(statistics.messages()),
+      Integer.valueOf(statistics.queues()),
+      Long.valueOf((timeNow - timeThen) / 1_000_000L)
+    );
+    return SUCCESS;
+  }
+
+  @Override
+  public String name()
+  {
+    return "export-data";
+  }
+}
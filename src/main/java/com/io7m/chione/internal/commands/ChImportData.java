@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal.commands;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.chione.ChServers;
+import com.io7m.chione.internal.ChDataImporter;
+import com.io7m.chione.internal.ChDataTransferStatistics;
+import com.io7m.chione.internal.ChJournalCompactor;
+import com.io7m.claypot.core.CLPAbstractCommand;
+import com.io7m.claypot.core.CLPCommandContextType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+
+/**
+ * Import data into a stopped server.
+ */
+
+@Parameters(commandDescription = "Import data into a stopped server.")
+public final class ChImportData extends CLPAbstractCommand
+{
+  @Parameter(
+    names = "--file",
+    description = "The configuration file",
+    required = true
+  )
+  private Path file;
+
+  @Parameter(
+    names = "--input",
+    description = "The input file",
+    required = true
+  )
+  private Path input;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public ChImportData(
+    final CLPCommandContextType inContext)
+  {
+    super(inContext);
+  }
+
+  @Override
+  protected Status executeActual()
+    throws Exception
+  {
+    final var logger = this.logger();
+
+    this.file = this.file.toAbsolutePath();
+    this.input = this.input.toAbsolutePath();
+
+    final var configurationOpt =
+      ChConfigurationFiles.parse(logger, this.file);
+    if (configurationOpt.isEmpty()) {
+      return FAILURE;
+    }
+    final var configuration = configurationOpt.get();
+
+    try {
+      ChJournalCompactor.checkNotLocked(configuration.directories().journal());
+    } catch (final Exception e) {
+      logger.error("{}", e.getMessage());
+      logger.error("The server must be stopped before importing data.");
+      return FAILURE;
+    }
+
+    final var servers = new ChServers();
+    final var timeThen = System.nanoTime();
+    final ChDataTransferStatistics statistics;
+    try (var server = servers.createMaintenanceServer(configuration)) {
+      server.start();
+
+      final var importer = new ChDataImporter(server);
+      final var nonEmpty =
+        importer.findNonEmptyQueues(Files.newInputStream(this.input));
+      if (!nonEmpty.isEmpty()) {
+        for (final var queue : nonEmpty) {
+          logger.error("Queue {} already contains messages.", queue);
+        }
+        logger.error("Data can only be imported into empty queues.");
+        return FAILURE;
+      }
+
+      statistics = importer.importData(Files.newInputStream(this.input));
+    }
+    final var timeNow = System.nanoTime();
+
+    logger.info(
+      "Imported {} messages in {} queues in {} ms",
+      Long.valueOf(statistics.messages()),
+      Integer.valueOf(statistics.queues()),
+      Long.valueOf((timeNow - timeThen) / 1_000_000L)
+    );
+    return SUCCESS;
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return String.join(
+      "",
+      "Messages are imported in batches, and each batch is committed as\n",
+      "soon as it has been imported. An import that fails part way\n",
+      "through leaves the messages imported so far in the server. Data\n",
+      "is only imported if every queue in the export is empty or does\n",
+      "not yet exist, so the queues must be emptied (or the data\n",
+      "directory restored from a backup) before an import is retried.\n"
+    );
+  }
+
+  @Override
+  public String name()
+  {
+    return "import-data";
+  }
+}
@@ -23,12 +23,19 @@ import com.io7m.anethum.common.ParseStatus;
 import com.io7m.chione.ChServerConfiguration;
 import com.io7m.chione.ChServers;
 import com.io7m.chione.internal.ChConfigurationParser;
+import com.io7m.chione.internal.ChServer;
+import com.io7m.chione.internal.ChServiceNotifier;
 import com.io7m.claypot.core.CLPAbstractCommand;
 import com.io7m.claypot.core.CLPCommandContextType;
 import org.slf4j.Logger;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
 import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
@@ -83,12 +90,81 @@ public final class ChRunServer extends CLPAbstractCommand
     }
 
     final var servers = new ChServers();
-    try (var server = servers.createServer(configuration)) {
-      server.start();
+    final var server =
+      servers.createServer(
+        configuration,
+        ChServiceNotifier.fromEnvironment()
+      );
+    final var drainTimeout = configuration.shutdown().drainTimeoutOrDefault();
+    final var shuttingDown = new AtomicBoolean(false);
+    final var hook =
+      new Thread(
+        () -> {
+          shuttingDown.set(true);
+          stopOnSignal(logger, server, drainTimeout);
+        },
+        "chione-shutdown"
+      );
+    Runtime.getRuntime().addShutdownHook(hook);
+
+    try {
+      server.start().get();
+    } catch (final CancellationException e) {
+      /*
+       * The server was stopped by the shutdown hook before it became
+       * ready; the hook is responsible for the rest of the shutdown.
+       */
+
+      server.stopped().get();
+      return SUCCESS;
+    } catch (final ExecutionException e) {
+      if (!shuttingDown.get()) {
+        removeShutdownHook(hook);
+      }
+      server.close();
+      return FAILURE;
     }
+
+    server.stopped().get();
     return SUCCESS;
   }
 
+  private static void removeShutdownHook(
+    final Thread hook)
+  {
+    try {
+      Runtime.getRuntime().removeShutdownHook(hook);
+    } catch (final IllegalStateException e) {
+      /*
+       * The JVM began shutting down after the hook was checked. The hook
+       * can no longer be removed, and is already stopping the server.
+       */
+    }
+  }
+
+  private static void stopOnSignal(
+    final Logger logger,
+    final ChServer server,
+    final long drainTimeout)
+  {
+    logger.info("Shutdown requested");
+
+    /*
+     * Allow some time beyond the drain timeout for the broker to write
+     * its final state after the remaining connections are closed.
+     */
+
+    try {
+      server.stop().get(drainTimeout + 10_000L, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException e) {
+      logger.error("Server did not stop within the drain timeout");
+    } catch (final ExecutionException e) {
+      logger.error("Server failed to stop cleanly: ", e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private static void logParseStatus(
     final Logger logger,
     final ParseStatus status)
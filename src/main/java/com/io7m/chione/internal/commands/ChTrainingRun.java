@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2022 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.chione.internal.commands;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.chione.ChServers;
+import com.io7m.chione.internal.ChServiceNotifier;
+import com.io7m.claypot.core.CLPAbstractCommand;
+import com.io7m.claypot.core.CLPCommandContextType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+
+/**
+ * Start and stop a server in order to exercise the code paths used at
+ * startup. The server uses a temporary data directory, so the data
+ * directory of the configuration is not touched, but the acceptors of the
+ * configuration must not be in use. Any cluster, federation, or metrics
+ * endpoint in the configuration is ignored.
+ */
+
+@Parameters(commandDescription = "Start and stop a server for training.")
+public final class ChTrainingRun extends CLPAbstractCommand
+{
+  @Parameter(
+    names = "--file",
+    description = "The configuration file",
+    required = true
+  )
+  private Path file;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public ChTrainingRun(
+    final CLPCommandContextType inContext)
+  {
+    super(inContext);
+  }
+
+  @Override
+  protected Status executeActual()
+    throws Exception
+  {
+    final var logger = this.logger();
+
+    this.file = this.file.toAbsolutePath();
+
+    final var configurationOpt =
+      ChConfigurationFiles.parse(logger, this.file);
+    if (configurationOpt.isEmpty()) {
+      return FAILURE;
+    }
+    final var configuration = configurationOpt.get();
+
+    final var dataDirectory =
+      Files.createTempDirectory("chione-training-");
+
+    try {
+      final var servers = new ChServers();
+      try (var server = servers.createServer(
+        configuration.standalone().withDataDirectory(dataDirectory),
+        ChServiceNotifier.disabled())) {
+        server.start().get();
+        logger.info(
+          "Server ready {} ms after JVM start",
+          Long.valueOf(ManagementFactory.getRuntimeMXBean().getUptime())
+        );
+      }
+    } finally {
+      deleteRecursively(dataDirectory);
+    }
+    return SUCCESS;
+  }
+
+  private static void deleteRecursively(
+    final Path directory)
+    throws IOException
+  {
+    try (var stream = Files.walk(directory)) {
+      for (final var path : stream.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  @Override
+  public String name()
+  {
+    return "training-run";
+  }
+}